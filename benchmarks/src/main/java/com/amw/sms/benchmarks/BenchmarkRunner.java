@@ -0,0 +1,40 @@
+package com.amw.sms.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options, e.g.
+ * {@code java -jar benchmarks.jar Solve -p size=100,1000}, and applies the following defaults
+ * unless they are overridden on the command line:
+ * - the gc profiler is enabled, reporting the allocation rate per operation (gc.alloc.rate.norm)
+ * - results are written as JSON to jmh-result.json
+ *
+ * The largest grids need several gigabytes of heap when using the Cell-based Grid; each fork is
+ * started with -Xmx8g. Rendering the largest grids as text can take a very long time.
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final var commandLineOptions = new CommandLineOptions(args);
+        final var options = new OptionsBuilder().parent(commandLineOptions);
+
+        if(commandLineOptions.getProfilers().isEmpty()){
+            options.addProfiler(GCProfiler.class);
+        }
+        if(!commandLineOptions.getResultFormat().hasValue()){
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if(!commandLineOptions.getResult().hasValue()){
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.amw.sms.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.grid.MazeGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks maze generation: allocating a square grid and applying a generation algorithm to it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class GenerationBenchmark {
+    @Param({"10", "100", "1000", "4096"})
+    public int size;
+
+    @Param({"BINARY_TREE", "SIDEWINDER", "RECURSIVE_BACKTRACKER", "ELLERS", "KRUSKAL", "WILSONS", "RECURSIVE_DIVISION"})
+    public MazeGenAlgorithmType algorithm;
+
+    @Param({"GRID", "BITFIELD"})
+    public GridBackend backend;
+
+    /**
+     * Whether the algorithm runs in parallel on the common pool. Algorithms without a parallel version
+     * run sequentially either way.
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private MazeGenAlgorithm genAlgorithm;
+
+    @Setup
+    public void setup(){
+        final var genAlgorithm = Generators.create(this.algorithm);
+        this.genAlgorithm = this.parallel
+            ?   genAlgorithm.inParallel(ForkJoinPool.commonPool())
+            :   genAlgorithm;
+    }
+
+    @Benchmark
+    public MazeGrid generate(){
+        final var grid = this.backend.create(this.size, this.size);
+        this.genAlgorithm.apply(grid);
+        return grid;
+    }
+}
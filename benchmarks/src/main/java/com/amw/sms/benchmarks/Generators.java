@@ -0,0 +1,35 @@
+package com.amw.sms.benchmarks;
+
+import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.algorithms.generation.Ellers;
+import com.amw.sms.algorithms.generation.Kruskal;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.algorithms.generation.RecursiveBacktracker;
+import com.amw.sms.algorithms.generation.RecursiveDivision;
+import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.algorithms.generation.Wilsons;
+
+/**
+ * Creates maze-generation algorithms outside of the Spring context.
+ */
+final class Generators {
+    private Generators(){}
+
+    /**
+     * Creates the maze-generation algorithm of the provided type.
+     * @param type Type of the algorithm.
+     * @return New algorithm instance.
+     */
+    static MazeGenAlgorithm create(MazeGenAlgorithmType type){
+        return switch(type){
+            case BINARY_TREE -> new BinaryTree();
+            case SIDEWINDER -> new Sidewinder();
+            case RECURSIVE_BACKTRACKER -> new RecursiveBacktracker();
+            case ELLERS -> new Ellers();
+            case KRUSKAL -> new Kruskal();
+            case WILSONS -> new Wilsons();
+            case RECURSIVE_DIVISION -> new RecursiveDivision();
+        };
+    }
+}
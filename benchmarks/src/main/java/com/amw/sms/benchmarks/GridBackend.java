@@ -0,0 +1,31 @@
+package com.amw.sms.benchmarks;
+
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+/**
+ * The grid implementations that benchmarks can be run against.
+ */
+public enum GridBackend {
+    GRID {
+        @Override
+        public MazeGrid create(int rowCount, int colCount){
+            return new Grid(rowCount, colCount);
+        }
+    },
+    BITFIELD {
+        @Override
+        public MazeGrid create(int rowCount, int colCount){
+            return new BitfieldGrid(rowCount, colCount);
+        }
+    };
+
+    /**
+     * Creates a new, unlinked grid of this type.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @return The new grid.
+     */
+    public abstract MazeGrid create(int rowCount, int colCount);
+}
@@ -0,0 +1,65 @@
+package com.amw.sms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.grid.GridImageRenderer;
+import com.amw.sms.grid.MazeGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ij.ImagePlus;
+
+/**
+ * Benchmarks rendering an already generated maze as text and as an image.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+public class RenderBenchmark {
+    @Param({"10", "100", "1000", "4096"})
+    public int size;
+
+    @Param({"GRID", "BITFIELD"})
+    public GridBackend backend;
+
+    private final GridImageRenderer imageRenderer = new GridImageRenderer(10);
+    private MazeGrid grid;
+
+    @Setup
+    public void setup(){
+        this.grid = this.backend.create(this.size, this.size);
+        Generators.create(MazeGenAlgorithmType.SIDEWINDER).apply(this.grid);
+    }
+
+    /**
+     * Renders the maze as text, i.e. Grid.toString or BitfieldGrid.toString.
+     * @return The text.
+     */
+    @Benchmark
+    public String text(){
+        return this.grid.toString();
+    }
+
+    /**
+     * Renders the maze as an image, i.e. Grid.toImage or BitfieldGrid.toImage.
+     * @return The image.
+     */
+    @Benchmark
+    public ImagePlus image(){
+        return this.imageRenderer.render(this.grid, "maze");
+    }
+}
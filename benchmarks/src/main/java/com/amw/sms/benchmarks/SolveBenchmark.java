@@ -0,0 +1,68 @@
+package com.amw.sms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.grid.MazeGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks solving an already generated maze, both between its corners and along its longest path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SolveBenchmark {
+    @Param({"10", "100", "1000", "4096"})
+    public int size;
+
+    @Param({"BINARY_TREE", "SIDEWINDER"})
+    public MazeGenAlgorithmType algorithm;
+
+    @Param({"GRID", "BITFIELD"})
+    public GridBackend backend;
+
+    private final Dijkstra dijkstra = new Dijkstra();
+    private MazeGrid grid;
+
+    @Setup
+    public void setup(){
+        this.grid = this.backend.create(this.size, this.size);
+        Generators.create(this.algorithm).apply(this.grid);
+    }
+
+    /**
+     * Solves the maze from its first cell to its last cell.
+     * @return The solution.
+     */
+    @Benchmark
+    public int[] solve(){
+        return this.dijkstra.getSolution(this.grid, 0, this.grid.getCellCount() - 1);
+    }
+
+    /**
+     * Finds the longest path of the maze using two searches, as is done when building a maze
+     * with its goals on the longest path.
+     * @return Index of the cell at the far end of the longest path.
+     */
+    @Benchmark
+    public int longestPath(){
+        final var start = this.dijkstra.getDistances(this.grid, 0).getFurthestIndex();
+        return this.dijkstra.getDistances(this.grid, start).getFurthestIndex();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
 import ij.IJ;
 
@@ -21,6 +22,7 @@ import ij.IJ;
  * Creates a maze using one of the implemented maze-generation algorithms, 
  * prints it to the console, displays it as an image and saves that image
  * to the folder containing the application.
+ * With the "web" profile it instead serves mazes over HTTP (see {@link com.amw.sms.web.MazeController}).
  */
 @SpringBootApplication
 public class App 
@@ -38,12 +40,13 @@ public class App
     }
 
     @Bean
+    @Profile("!web")
 	public CommandLineRunner commandLineRunner(ApplicationContext ctx) {
 		return args -> {
             final var maze = mazeBuilderFactory.create()
                 .withSize(10, 10)
                 .usingLongestPath()
-                .usingAlgorithm(algorithmFactory.getGenerationAlgorithm(MazeGenAlgorithmType.SIDEWINDER)) //TODO - should "usingAlgorithm" just take the enum? Let the builder handle the actual algorithm creation?
+                .usingAlgorithm(MazeGenAlgorithmType.SIDEWINDER)
                 .showDistances()
                 .build();
 
@@ -1,10 +1,18 @@
 package com.amw.sms.algorithms;
 
 import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.algorithms.generation.Ellers;
+import com.amw.sms.algorithms.generation.Kruskal;
 import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
 import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.algorithms.generation.RecursiveBacktracker;
+import com.amw.sms.algorithms.generation.RecursiveDivision;
 import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.algorithms.generation.Wilsons;
+import com.amw.sms.algorithms.solving.AStar;
+import com.amw.sms.algorithms.solving.BidirectionalSearch;
 import com.amw.sms.algorithms.solving.MazeSolveAlgorithm;
+import com.amw.sms.algorithms.solving.MazeSolveAlgorithmType;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -20,9 +28,30 @@ public class AlgorithmFactory {
     @Autowired
     private Sidewinder sidewinder;
 
+    @Autowired
+    private RecursiveBacktracker recursiveBacktracker;
+
+    @Autowired
+    private Ellers ellers;
+
+    @Autowired
+    private Kruskal kruskal;
+
+    @Autowired
+    private Wilsons wilsons;
+
+    @Autowired
+    private RecursiveDivision recursiveDivision;
+
     @Autowired
     private Dijkstra dijk;
 
+    @Autowired
+    private BidirectionalSearch bidirectionalSearch;
+
+    @Autowired
+    private AStar aStar;
+
     /**
      * Returns some maze-generation algorithm.  
      * @return A maze-generation algorithm. The exact algorithm returned is not specified. 
@@ -40,6 +69,11 @@ public class AlgorithmFactory {
         return switch(type){
             case BINARY_TREE -> binaryTree;
             case SIDEWINDER -> sidewinder;
+            case RECURSIVE_BACKTRACKER -> recursiveBacktracker;
+            case ELLERS -> ellers;
+            case KRUSKAL -> kruskal;
+            case WILSONS -> wilsons;
+            case RECURSIVE_DIVISION -> recursiveDivision;
             default -> sidewinder;  //TODO - should throw exception as invalid type is provided...
         };
     }
@@ -49,7 +83,20 @@ public class AlgorithmFactory {
      * @return A maze-solving algorithm. The exact algorithm returned is not specified. 
      */
     public MazeSolveAlgorithm getSolvingAlgorithm(){
-        return dijk;
+        return this.getSolvingAlgorithm(MazeSolveAlgorithmType.DIJKSTRA);
+    }
+
+    /**
+     * Returns the specified maze-solving algorithm.
+     * @param type The exact type of the algorithm.
+     * @return The maze-solving algorithm.
+     */
+    public MazeSolveAlgorithm getSolvingAlgorithm(MazeSolveAlgorithmType type){
+        return switch(type){
+            case DIJKSTRA -> dijk;
+            case BIDIRECTIONAL_BFS -> bidirectionalSearch;
+            case A_STAR -> aStar;
+        };
     }
 
 
@@ -60,4 +107,12 @@ public class AlgorithmFactory {
     public Dijkstra getDijkstra(){
         return dijk;
     }
+
+    /**
+     * Returns A* algorithm instance.
+     * @return A* algorithm.
+     */
+    public AStar getAStar(){
+        return aStar;
+    }
 }
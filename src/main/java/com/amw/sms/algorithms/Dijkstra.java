@@ -1,90 +1,299 @@
 package com.amw.sms.algorithms;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Optional;
 
 import com.amw.sms.algorithms.solving.MazeSolveAlgorithm;
 import com.amw.sms.grid.Cell;
 import com.amw.sms.grid.CellDistances;
 import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
 import com.amw.sms.mazes.Maze;
+import com.amw.sms.util.BufferPool;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-//TODO - upgrade with caching mode to reduce number of calls to algorithm.
+/**
+ * Dijkstra's algorithm. Since every link in a maze has the same weight, this is a breadth-first
+ * search from a root cell.
+ *
+ * The search works on cell indexes and keeps its frontier, distances and the parent of each cell (the cell it was
+ * reached from) in int arrays. These are scratch buffers reused across calls (see {@link BufferPool}), so after the
+ * first search on a grid of a given size, searching only allocates the returned result. For grids of up to
+ * {@value #RETAINED_CELLS} cells they are kept per thread. Larger grids share a few buffers between all threads, rather
+ * than every thread that ever searched one keeping its own. A solution is read by following the parents back from the
+ * end cell, one step per cell on the path.
+ *
+ * In caching mode, the distances from each root are kept in a bounded cache (see {@link DistanceCache}) and reused
+ * until the grid is linked or unlinked, so repeatedly solving or finding goals in the same maze only searches it once.
+ * Solutions are then walked back along the cached distances. Cached distances are shared between callers, so they
+ * are handed out read-only (see {@link CellDistances#asReadOnly}). Distances that should follow edits to the grid are
+ * tracked instead (see {@link #trackDistances}).
+ */
 @Component
 public class Dijkstra extends MazeSolveAlgorithm {
+    private static final int UNSET = -1;
+
+    //Largest grid, in cells, whose search buffers are kept per thread (three int arrays, i.e. 768 KiB)
+    private static final int RETAINED_CELLS = 1 << 16;
+
+    //Number of buffers for larger grids kept for reuse by all threads
+    private static final int SHARED_BUFFERS = 2;
+
+    private static final BufferPool<SearchBuffers> BUFFERS =
+        new BufferPool<>(RETAINED_CELLS, SHARED_BUFFERS, SearchBuffers::new);
+
+    private final Optional<DistanceCache> cache;
+
+    /**
+     * Constructs new Dijkstra algorithm, without caching.
+     */
+    public Dijkstra(){
+        this(0);
+    }
+
     /**
-     * Constructs new Dijkstra algorithm.
+     * Constructs new Dijkstra algorithm in caching mode.
+     * @param cacheCells Largest total number of cells of the cached distances. 0 disables caching.
      */
-    public Dijkstra(){}
+    @Autowired
+    public Dijkstra(@Value("${maze.dijkstra.cache-cells:0}") final long cacheCells){
+        this.cache = cacheCells > 0
+            ?   Optional.of(new DistanceCache(cacheCells))
+            :   Optional.empty();
+    }
 
     @Override
-    public List<Cell> getSolution(final Maze maze){
-        final var distancesFromStart = this.getDistances(maze.getGrid(), maze.getStartCell());
-        return this.getPathTo(maze.getEndCell(), distancesFromStart);
+    public int[] getSolution(final MazeGrid grid, final int startIndex, final int endIndex){
+        if(this.cache.isPresent()){
+            return this.getDistances(grid, startIndex).getPathTo(endIndex);
+        }
+
+        final var buffers = acquireBuffers(grid);
+        try{
+            this.search(grid, startIndex, buffers);
+            return this.getPathTo(endIndex, buffers);
+        } finally {
+            BUFFERS.release(buffers, grid.getCellCount());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the distances from the maze's start were kept while building it, the path is walked back
+     * along them without searching the maze again.
+     */
+    @Override
+    public int[] getSolutionIndexes(final Maze maze){
+        final var grid = maze.getGrid();
+        final var startIndex = grid.indexOf(maze.getStartCell());
+        final var distancesFromStart = maze.getDistancesFromStart()
+            .filter((var distances) -> distances.getRootIndex() == startIndex);
+        if(distancesFromStart.isEmpty()){
+            return super.getSolutionIndexes(maze);
+        }
+
+        final var endIndex = grid.indexOf(maze.getEndCell());
+        return distancesFromStart.get().getPathTo(endIndex);
     }
 
     /**
      * Get the distances from the provided root cell and every other cell on the grid
      * that is connected to the root by some path.
+     * @param grid Grid containing the cells.
      * @param rootCell Cell to get distances relative to.
      * @return Distances between the root cell and every other cell. If there is no
      * path connecting the root and a cell on the grid, the cell will not have a distance
      * set.
      */
     public CellDistances getDistances(final Grid grid, final Cell rootCell){
-        final var distances = new CellDistances(grid, rootCell);
+        return this.getDistances(grid, grid.indexOf(rootCell));
+    }
+
+    /**
+     * Get the distances from the provided root cell and every other cell on the grid
+     * that is connected to the root by some path.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the cell to get distances relative to.
+     * @return Distances between the root cell and every other cell. If there is no
+     * path connecting the root and a cell on the grid, the cell will not have a distance
+     * set. In caching mode, the distances are read-only.
+     */
+    public CellDistances getDistances(final MazeGrid grid, final int rootIndex){
+        if(this.cache.isEmpty()){
+            return this.search(grid, rootIndex);
+        }
 
-        final var frontier = new LinkedList<Cell>();
-        frontier.add(rootCell);
+        final var modificationCount = grid.getModificationCount();
+        final var cached = this.cache.get().get(grid, rootIndex, modificationCount);
+        if(cached.isPresent()){
+            return cached.get();
+        }
+
+        //Cached distances are handed to every later caller, so none of them can be allowed to change them
+        final var distances = this.search(grid, rootIndex).asReadOnly();
+        this.cache.get().put(grid, rootIndex, modificationCount, distances);
+        return distances;
+    }
+
+    /**
+     * Get the distances from the provided root cell, kept up to date as the grid is linked and unlinked.
+     * Each change only updates the distances of the cells it affects (see {@link IncrementalDistances}),
+     * instead of searching the whole grid again. The distances are never cached, since they are modified.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the cell to get distances relative to.
+     * @return Distances that track the grid until they are closed.
+     */
+    public IncrementalDistances trackDistances(final MazeGrid grid, final int rootIndex){
+        return new IncrementalDistances(grid, this.search(grid, rootIndex));
+    }
 
-        while(!frontier.isEmpty()){
-            final var frontierCell = frontier.remove();
+    /**
+     * Returns the number of cells of the distances held in the cache.
+     * @return Number of cached cells. Always 0 when not in caching mode.
+     */
+    long getCachedCells(){
+        return this.cache.map(DistanceCache::getCachedCells).orElse(0L);
+    }
 
-            frontierCell.getLinks()
-                .stream()
-                .forEach((var linkedCell) -> {
-                    //Already visited cells should not be visited again (only happens in imperfect mazes)
-                    if(distances.isDistanceSet(linkedCell)){return;}
+    /**
+     * Returns the number of search buffers created by all Dijkstra instances so far.
+     * @return Number of created buffers.
+     */
+    static long getCreatedBuffers(){
+        return BUFFERS.getCreatedCount();
+    }
 
-                    distances.setDistance(linkedCell, distances.getDistance(frontierCell)+1);
-                    frontier.add(linkedCell);
-                });
+    /**
+     * Runs the breadth-first search and returns the distance of every cell.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the cell to get distances relative to.
+     * @return Distances from the root cell.
+     */
+    private CellDistances search(final MazeGrid grid, final int rootIndex){
+        final var buffers = acquireBuffers(grid);
+        try{
+            this.search(grid, rootIndex, buffers);
+            return new CellDistances(grid, rootIndex, buffers.distances);
+        } finally {
+            BUFFERS.release(buffers, grid.getCellCount());
         }
+    }
 
-        return distances;
+    /**
+     * Returns scratch buffers large enough to search the grid. They must be released to {@link Dijkstra#BUFFERS}
+     * once the search is done.
+     * @param grid Grid to search.
+     * @return The buffers.
+     */
+    private static SearchBuffers acquireBuffers(final MazeGrid grid){
+        final var cellCount = grid.getCellCount();
+        final var buffers = BUFFERS.acquire(cellCount);
+        buffers.ensureCapacity(cellCount);
+        return buffers;
     }
 
     /**
-     * Returns the path of cells from the root cell set within the cell-distances instance and the provided end cell
-     * @param cell Cell to find a path to.
-     * @param distancesFromRoot Distances from a configured root-cell and all other connected cells on the grid
-     * @return Path of cells from the root cell to the provided end-cell, given that one exists. If a path exists,
-     * the returned list will start with the root cell (i.e. first index) and will end with the end cell. If no such
-     * path exists connecting the two cells, an empty list is returned.
+     * Runs the breadth-first search, leaving the distance and parent of every cell in the buffers.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the cell to get distances relative to.
+     * @param buffers Scratch buffers large enough for the grid (see {@link Dijkstra#acquireBuffers}).
      */
-    private List<Cell> getPathTo(final Cell cell, final CellDistances distancesFromRoot){
-        final var startCell = distancesFromRoot.getRootCell();
-        final var path = new LinkedList<Cell>();
-        path.add(cell);
-
-        var currentCell = cell;
-        while(currentCell != startCell){
-            final var cellDistance = distancesFromRoot.getDistance(currentCell);
-            final var nextCell = currentCell.getLinks()
-                .stream()
-                .filter((var neighbor) -> distancesFromRoot.getDistance(neighbor) < cellDistance)
-                .findFirst();
-
-            //NO PATH FROM ROOT TO CELL
-            if(nextCell.isEmpty()){
-                return new LinkedList<Cell>();
+    private void search(final MazeGrid grid, final int rootIndex, final SearchBuffers buffers){
+        final var cellCount = grid.getCellCount();
+        final var linksOnlyNeighbors = grid.linksOnlyNeighbors();
+        final var distances = buffers.distances;
+        final var frontier = buffers.frontier;
+        final var parents = buffers.parents;
+        Arrays.fill(distances, 0, cellCount, UNSET);
+
+        //Every cell is added to the frontier at most once, so it never needs to wrap around
+        var head = 0;
+        var tail = 0;
+        distances[rootIndex] = 0;
+        frontier[tail++] = rootIndex;
+
+        while(head < tail){
+            final var frontierCell = frontier[head++];
+            final var nextDistance = distances[frontierCell] + 1;
+            final var links = linksOnlyNeighbors ? buffers.links : buffers.linksOf(grid, frontierCell);
+            final var linkCount = grid.getLinks(frontierCell, links);
+
+            for(var i = 0; i < linkCount; i++){
+                final var linkedCell = links[i];
+
+                //Already visited cells should not be visited again (only happens in imperfect mazes)
+                if(distances[linkedCell] != UNSET){continue;}
+
+                distances[linkedCell] = nextDistance;
+                parents[linkedCell] = frontierCell;
+                frontier[tail++] = linkedCell;
             }
+        }
+    }
 
-            path.push(currentCell = nextCell.get());
+    /**
+     * Returns the path of cells from the root cell of the last search to the provided end cell.
+     * @param endIndex Index of the cell to find a path to.
+     * @param buffers Buffers containing the distances and parents of the last search.
+     * @return Path of cells from the root cell to the provided end-cell, given that one exists. If a path exists,
+     * the returned array will start with the root cell (i.e. first index) and will end with the end cell. If no such
+     * path exists connecting the two cells, an empty array is returned.
+     */
+    private int[] getPathTo(final int endIndex, final SearchBuffers buffers){
+        //NO PATH FROM ROOT TO CELL
+        if(buffers.distances[endIndex] == UNSET){
+            return new int[0];
+        }
+
+        final var parents = buffers.parents;
+        final var path = new int[buffers.distances[endIndex] + 1];
+        var currentCell = endIndex;
+        for(var step = path.length - 1; step > 0; step--){
+            path[step] = currentCell;
+            currentCell = parents[currentCell];
         }
+        path[0] = currentCell;
 
         return path;
     }
+
+    /**
+     * Scratch buffers used by one search at a time.
+     */
+    private static final class SearchBuffers {
+        private int[] distances = new int[0];
+        private int[] frontier = new int[0];
+        private int[] parents = new int[0];
+        private int[] links = new int[MazeGrid.MAX_NEIGHBORS];
+
+        /**
+         * Grows the distance, frontier and parent buffers so that they can hold the provided number of cells.
+         * @param cellCount Number of cells in the grid being searched.
+         */
+        private void ensureCapacity(int cellCount){
+            if(this.distances.length < cellCount){
+                this.distances = new int[cellCount];
+                this.frontier = new int[cellCount];
+                this.parents = new int[cellCount];
+            }
+        }
+
+        /**
+         * Returns a buffer large enough to hold all of the links of the provided cell. Only needed for grids that
+         * can link cells other than neighbors, since the buffer always holds {@link MazeGrid#MAX_NEIGHBORS} links.
+         * @param grid Grid containing the cell.
+         * @param index Index of the cell.
+         * @return The links buffer.
+         */
+        private int[] linksOf(MazeGrid grid, int index){
+            final var degree = grid.degree(index);
+            if(this.links.length < degree){
+                this.links = new int[degree];
+            }
+            return this.links;
+        }
+    }
 }
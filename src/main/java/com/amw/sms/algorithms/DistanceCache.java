@@ -0,0 +1,117 @@
+package com.amw.sms.algorithms;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import com.amw.sms.grid.CellDistances;
+import com.amw.sms.grid.MazeGrid;
+
+/**
+ * Least-recently-used cache of the distances from root cells of grids, used by {@link Dijkstra}'s caching mode.
+ *
+ * Entries are keyed by the identity of the grid and the index of the root cell, and record the grid's
+ * modification count when they were computed. An entry whose grid has been linked or unlinked since is out of
+ * date and is dropped when it is next looked up.
+ *
+ * The cache is bounded by the total number of cells of the distances it holds rather than by the number of
+ * entries, so a few large mazes and many small ones are both kept within the same memory. Cached distances
+ * also keep their grid reachable until they are evicted.
+ */
+final class DistanceCache {
+    private final long maxCells;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCells = 0;
+
+    /**
+     * Constructs empty cache.
+     * @param maxCells Largest total number of cells of the distances held by the cache.
+     */
+    DistanceCache(long maxCells){
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Returns the cached distances from a root cell, if they are still up to date.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the root cell.
+     * @param modificationCount Current modification count of the grid.
+     * @return Optional containing the distances. Returns an empty Optional if they are not cached or out of date.
+     */
+    synchronized Optional<CellDistances> get(MazeGrid grid, int rootIndex, long modificationCount){
+        final var key = new Key(grid, rootIndex);
+        final var entry = this.entries.get(key);
+        if(entry == null){
+            return Optional.empty();
+        }
+        if(entry.modificationCount() != modificationCount){
+            this.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.distances());
+    }
+
+    /**
+     * Caches distances from a root cell, evicting the least recently used distances if the cache is full.
+     * Distances of grids larger than the whole cache are not cached.
+     * @param grid Grid containing the cells.
+     * @param rootIndex Index of the root cell.
+     * @param modificationCount Modification count of the grid that the distances were computed at.
+     * @param distances The distances.
+     */
+    synchronized void put(MazeGrid grid, int rootIndex, long modificationCount, CellDistances distances){
+        final var cells = grid.getCellCount();
+        if(cells > this.maxCells){
+            return;
+        }
+
+        final var key = new Key(grid, rootIndex);
+        this.remove(key);
+        this.entries.put(key, new Entry(modificationCount, distances));
+        this.cachedCells += cells;
+
+        final var iterator = this.entries.entrySet().iterator();
+        while(this.cachedCells > this.maxCells){
+            final var eldest = iterator.next();
+            this.cachedCells -= eldest.getKey().grid().getCellCount();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the total number of cells of the cached distances.
+     * @return Number of cells.
+     */
+    synchronized long getCachedCells(){
+        return this.cachedCells;
+    }
+
+    /**
+     * Removes an entry, if it exists.
+     * @param key Key of the entry.
+     */
+    private void remove(Key key){
+        if(this.entries.remove(key) != null){
+            this.cachedCells -= key.grid().getCellCount();
+        }
+    }
+
+    /**
+     * Key of an entry: a grid, compared by identity, and the index of a root cell.
+     */
+    private record Key(MazeGrid grid, int rootIndex) {
+        @Override
+        public boolean equals(Object other){
+            return other instanceof Key key && key.grid == this.grid && key.rootIndex == this.rootIndex;
+        }
+
+        @Override
+        public int hashCode(){
+            return System.identityHashCode(this.grid) * 31 + this.rootIndex;
+        }
+    }
+
+    /**
+     * Cached distances and the grid's modification count when they were computed.
+     */
+    private record Entry(long modificationCount, CellDistances distances) {}
+}
@@ -0,0 +1,328 @@
+package com.amw.sms.algorithms;
+
+import java.util.Arrays;
+
+import com.amw.sms.grid.CellDistances;
+import com.amw.sms.grid.GridChangeListener;
+import com.amw.sms.grid.MazeGrid;
+
+/**
+ * Distances from a root cell that are kept up to date as the grid is edited, e.g. while braiding a maze or
+ * adding loops to it. Instead of searching the whole grid again after every change, each added or removed link
+ * only updates the cells whose distance it changes.
+ *
+ * Adding a link can only shorten distances, so the shorter distance is spread out from the newly reachable side
+ * until it no longer improves on what the cells already have. Removing a link only matters if it was the last link
+ * to a cell from a cell one step closer to the root. Then every cell that depended on it is found, level by level,
+ * and their distances are rebuilt from the unaffected cells around them.
+ *
+ * Created with {@link Dijkstra#trackDistances}. Listens to the grid until {@link IncrementalDistances#close}
+ * is called. Not thread-safe: the grid should only be edited from one thread at a time.
+ */
+public class IncrementalDistances implements GridChangeListener, AutoCloseable {
+    private static final int UNSET = -1;
+
+    private final MazeGrid grid;
+    private final CellDistances distances;
+    private int[] links = new int[MazeGrid.MAX_NEIGHBORS];
+
+    //Scratch space of a single update. Cells are marked with the current stamp instead of clearing a set every time.
+    private final int[] marks;
+    private int stamp = 0;
+    private final IntList queue = new IntList();
+    private final IntList affected = new IntList();
+    private long[] entries = new long[16];
+
+    /**
+     * Constructs incremental distances starting from the provided, up-to-date distances, and starts
+     * listening to the grid.
+     * @param grid Grid containing the cells.
+     * @param distances Current distances from the root cell. They are updated in place, so they should
+     * not be shared.
+     */
+    IncrementalDistances(MazeGrid grid, CellDistances distances){
+        this.grid = grid;
+        this.distances = distances;
+        this.marks = new int[grid.getCellCount()];
+        grid.addChangeListener(this);
+    }
+
+    /**
+     * Returns the distances from the root cell. They are updated in place whenever the grid changes, so the same
+     * instance can be displayed in the grid and stays current.
+     * @return The distances.
+     */
+    public CellDistances getDistances(){
+        return this.distances;
+    }
+
+    /**
+     * Returns the current shortest path from the root cell to the provided cell.
+     * @param index Index of the cell.
+     * @return Indexes of the cells on the path, starting with the root. Empty if the cell cannot be reached.
+     */
+    public int[] getPathTo(int index){
+        return this.distances.getPathTo(index);
+    }
+
+    /**
+     * Stops listening to the grid. The distances are no longer updated afterwards.
+     */
+    @Override
+    public void close(){
+        this.grid.removeChangeListener(this);
+    }
+
+    @Override
+    public void linkAdded(int cell1, int cell2){
+        final var distance1 = this.distances.getDistance(cell1);
+        final var distance2 = this.distances.getDistance(cell2);
+
+        if(distance1 != UNSET && (distance2 == UNSET || distance1 + 1 < distance2)){
+            this.spreadFrom(cell2, distance1 + 1);
+        }
+        else if(distance2 != UNSET && (distance1 == UNSET || distance2 + 1 < distance1)){
+            this.spreadFrom(cell1, distance2 + 1);
+        }
+    }
+
+    @Override
+    public void linkRemoved(int cell1, int cell2){
+        final var distance1 = this.distances.getDistance(cell1);
+        final var distance2 = this.distances.getDistance(cell2);
+
+        //Only a link between consecutive distances can be on a shortest path
+        if(distance1 == UNSET || distance2 == UNSET || Math.abs(distance1 - distance2) != 1){
+            return;
+        }
+
+        final var farther = distance1 > distance2 ? cell1 : cell2;
+        this.nextStamp();
+        if(this.hasParent(farther)){
+            return;
+        }
+        this.findAffected(farther);
+        this.rebuild();
+    }
+
+    /**
+     * Sets a shorter distance for a cell and spreads it to every cell that it makes closer to the root.
+     * @param cell Index of the cell.
+     * @param distance The cell's new distance.
+     */
+    private void spreadFrom(int cell, int distance){
+        this.queue.clear();
+        this.distances.setDistance(cell, distance);
+        this.queue.add(cell);
+
+        for(var next = 0; next < this.queue.size(); next++){
+            final var current = this.queue.get(next);
+            final var nextDistance = this.distances.getDistance(current) + 1;
+            final var linkCount = this.linksOf(current);
+            for(var i = 0; i < linkCount; i++){
+                final var linked = this.links[i];
+                final var linkedDistance = this.distances.getDistance(linked);
+                if(linkedDistance == UNSET || nextDistance < linkedDistance){
+                    this.distances.setDistance(linked, nextDistance);
+                    this.queue.add(linked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds every cell whose shortest paths to the root all went through the provided cell, which lost its
+     * last link to a cell one step closer to the root. Cells are checked in order of distance, so by the time a
+     * cell is checked, every cell one step closer to the root has already been found to be affected or not.
+     * The affected cells are collected in the affected list.
+     * @param cell Index of the cell that lost its shortest paths.
+     */
+    private void findAffected(int cell){
+        this.queue.clear();
+        this.affected.clear();
+        this.markCandidate(cell);
+        this.queue.add(cell);
+
+        for(var next = 0; next < this.queue.size(); next++){
+            final var current = this.queue.get(next);
+            if(current != cell && this.hasParent(current)){
+                continue;
+            }
+            this.marks[current] = this.stamp + 1;
+            this.affected.add(current);
+
+            //Cells one step farther may have depended on this one
+            final var childDistance = this.distances.getDistance(current) + 1;
+            final var linkCount = this.linksOf(current);
+            for(var i = 0; i < linkCount; i++){
+                final var linked = this.links[i];
+                if(this.distances.getDistance(linked) == childDistance && this.markCandidate(linked)){
+                    this.queue.add(linked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a cell is still linked to an unaffected cell one step closer to the root.
+     * @param cell Index of the cell.
+     * @return true if the cell keeps its distance through some other cell.
+     */
+    private boolean hasParent(int cell){
+        final var parentDistance = this.distances.getDistance(cell) - 1;
+        final var linkCount = this.linksOf(cell);
+        for(var i = 0; i < linkCount; i++){
+            final var linked = this.links[i];
+            if(this.distances.getDistance(linked) == parentDistance && !this.isAffected(linked)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recomputes the distances of the affected cells from the unaffected cells around them. Each affected cell
+     * starts from its best unaffected neighbor, and the cells are then settled shortest distance first.
+     * Cells left without any path to the root end up with no distance set.
+     *
+     * Every link has the same weight, so no priority queue is needed. The starting distances are sorted, and the
+     * distances spread from the settled cells are queued in the order they are found, which is already increasing.
+     * Merging the two settles the cells in order of distance.
+     */
+    private void rebuild(){
+        for(var i = 0; i < this.affected.size(); i++){
+            this.distances.setDistance(this.affected.get(i), UNSET);
+        }
+
+        //Entries pack the tentative distance above the cell index, so they are ordered by distance. The sorted
+        //starting distances come first, followed by the queue of spread distances.
+        var startCount = 0;
+        for(var a = 0; a < this.affected.size(); a++){
+            final var cell = this.affected.get(a);
+            var best = UNSET;
+            final var linkCount = this.linksOf(cell);
+            for(var i = 0; i < linkCount; i++){
+                final var linkedDistance = this.distances.getDistance(this.links[i]);
+                if(linkedDistance != UNSET && (best == UNSET || linkedDistance + 1 < best)){
+                    best = linkedDistance + 1;
+                }
+            }
+            if(best != UNSET){
+                startCount = this.addEntry(startCount, best, cell);
+            }
+        }
+        Arrays.sort(this.entries, 0, startCount);
+
+        var nextStart = 0;
+        var head = startCount;
+        var tail = startCount;
+        while(nextStart < startCount || head < tail){
+            final var fromStart = head == tail
+                || (nextStart < startCount && this.entries[nextStart] <= this.entries[head]);
+            final var entry = fromStart ? this.entries[nextStart++] : this.entries[head++];
+            final var distance = (int) (entry >>> Integer.SIZE);
+            final var cell = (int) entry;
+            final var current = this.distances.getDistance(cell);
+            if(current != UNSET && current <= distance){
+                continue;
+            }
+            this.distances.setDistance(cell, distance);
+
+            final var linkCount = this.linksOf(cell);
+            for(var i = 0; i < linkCount; i++){
+                final var linked = this.links[i];
+                final var linkedDistance = this.distances.getDistance(linked);
+                if(this.isAffected(linked) && (linkedDistance == UNSET || distance + 1 < linkedDistance)){
+                    tail = this.addEntry(tail, distance + 1, linked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes an entry of {@link IncrementalDistances#rebuild} into the entries buffer, growing it if needed.
+     * @param size Number of entries already in the buffer.
+     * @param distance Tentative distance of the cell.
+     * @param cell Index of the cell.
+     * @return Number of entries in the buffer, including the new one.
+     */
+    private int addEntry(int size, int distance, int cell){
+        if(size == this.entries.length){
+            this.entries = Arrays.copyOf(this.entries, size * 2);
+        }
+        this.entries[size] = ((long) distance << Integer.SIZE) | cell;
+        return size + 1;
+    }
+
+    /**
+     * Writes the cells linked to a cell into the links buffer, growing it if needed.
+     * @param cell Index of the cell.
+     * @return Number of linked cells.
+     */
+    private int linksOf(int cell){
+        final var degree = this.grid.degree(cell);
+        if(this.links.length < degree){
+            this.links = new int[degree];
+        }
+        return this.grid.getLinks(cell, this.links);
+    }
+
+    /**
+     * Starts a new update, so that no cell is marked as a candidate or as affected.
+     */
+    private void nextStamp(){
+        if(this.stamp >= Integer.MAX_VALUE - 2){
+            Arrays.fill(this.marks, 0);
+            this.stamp = 0;
+        }
+        this.stamp += 2;
+    }
+
+    /**
+     * Marks a cell as a candidate of the current update, unless it already is one.
+     * @param cell Index of the cell.
+     * @return true if the cell was not a candidate yet.
+     */
+    private boolean markCandidate(int cell){
+        if(this.marks[cell] >= this.stamp) return false;
+
+        this.marks[cell] = this.stamp;
+        return true;
+    }
+
+    /**
+     * Indicates whether a cell was found to be affected by the current update.
+     * @param cell Index of the cell.
+     * @return true if the cell is affected.
+     */
+    private boolean isAffected(int cell){
+        return this.marks[cell] == this.stamp + 1;
+    }
+
+    /**
+     * Growable list of cell indexes, reused between updates.
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        void add(int value){
+            if(this.size == this.values.length){
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        int get(int index){
+            return this.values[index];
+        }
+
+        int size(){
+            return this.size;
+        }
+
+        void clear(){
+            this.size = 0;
+        }
+    }
+}
@@ -1,51 +1,171 @@
 package com.amw.sms.algorithms.generation;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import com.amw.sms.grid.Cell;
-import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.MazeGrid;
+import com.amw.sms.util.CounterHash;
 
 import org.springframework.stereotype.Component;
 
 /**
  * Binary tree maze-generation algorithm.
+ *
+ * Every cell is linked to either its northern or its eastern neighbor, independently of every other cell.
+ * Each cell's choice is derived from a hash of the seed and the cell's index (see {@link CounterHash}), so
+ * cells can be visited in any order and the same seed always produces the same maze.
+ *
+ * On a {@link BitfieldGrid} the links are computed a word at a time and written straight into the packed
+ * array. A parallel version of the algorithm, see {@link BinaryTree#inParallel}, spreads the words across
+ * a pool.
  */
 @Component
 public class BinaryTree implements MazeGenAlgorithm{
-    private final Random rng;
+    //Number of words of a BitfieldGrid that a single task fills in when running in parallel
+    private static final int WORDS_PER_TASK = 1 << 12;
+
+    private final Optional<ForkJoinPool> pool;
 
     public BinaryTree(){
-        rng = new Random();
+        this.pool = Optional.empty();
     }
 
-    public final void apply(Grid grid){
-        grid.getCells()
-            .stream()
-            .forEach(this::visitCell);
+    /**
+     * Constructs binary tree algorithm that fills in the grid on the provided pool.
+     * @param pool Pool to run on.
+     */
+    private BinaryTree(ForkJoinPool pool){
+        this.pool = Optional.of(pool);
     }
 
-    private void visitCell(Cell cell){
-        this.createPath(cell, this.getRelevantNeighbors(cell));
+    @Override
+    public MazeGenAlgorithm inParallel(ForkJoinPool pool){
+        return new BinaryTree(pool);
     }
 
-    private List<Cell> getRelevantNeighbors(Cell cell){
-        final var relevantNeighbors = new ArrayList<Cell>();
-        cell.getNorth().ifPresent(relevantNeighbors::add);
-        cell.getEast().ifPresent(relevantNeighbors::add);
-        return relevantNeighbors;
-    }
+    /**
+     * {@inheritDoc}
+     * The same generator state always produces the same maze, whether it is generated in parallel or not.
+     */
+    @Override
+    public final void apply(MazeGrid grid, SplittableRandom rng){
+        final var seed = rng.nextLong();
 
-    private void createPath(Cell cell, List<Cell> neighbors){
-        //No neighbors to link to
-        if(neighbors.isEmpty()){
+        if(grid instanceof BitfieldGrid bitfieldGrid){
+            final var words = new WordTask(bitfieldGrid, seed, 0, bitfieldGrid.getWordCount());
+            if(this.pool.isPresent()){
+                this.pool.get().invoke(words);
+            } else {
+                words.fillWords();
+            }
             return;
         }
 
-        //Link to one of the neighbors, equal chance of any of the relevant neighbors
-        neighbors
-            .get(rng.nextInt(neighbors.size()))
-            .link(cell);
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            if(this.linksNorth(grid, seed, cell)){
+                grid.link(grid.north(cell), cell);
+            } else if(this.linksEast(grid, seed, cell)){
+                grid.link(grid.east(cell), cell);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a cell links to its northern neighbor. Each cell that has both neighbors has an equal
+     * chance of linking to either one.
+     * @param grid Grid containing the cell.
+     * @param seed Seed of the maze.
+     * @param cell Index of the cell.
+     * @return true if the cell links to its northern neighbor.
+     */
+    private boolean linksNorth(MazeGrid grid, long seed, int cell){
+        final var hasNorth = cell >= grid.getColumnCount();
+        final var hasEast = grid.columnOf(cell) < grid.getColumnCount() - 1;
+        return hasNorth && (!hasEast || CounterHash.hash(seed, cell) < 0);
+    }
+
+    /**
+     * Indicates whether a cell links to its eastern neighbor.
+     * @param grid Grid containing the cell.
+     * @param seed Seed of the maze.
+     * @param cell Index of the cell.
+     * @return true if the cell links to its eastern neighbor.
+     * @see BinaryTree#linksNorth
+     */
+    private boolean linksEast(MazeGrid grid, long seed, int cell){
+        final var hasNorth = cell >= grid.getColumnCount();
+        final var hasEast = grid.columnOf(cell) < grid.getColumnCount() - 1;
+        return hasEast && (!hasNorth || CounterHash.hash(seed, cell) >= 0);
+    }
+
+    /**
+     * Fills in a range of words of a BitfieldGrid. When invoked on a pool, the range is split in half until
+     * it is small enough to fill in directly.
+     */
+    private final class WordTask extends RecursiveAction {
+        private final BitfieldGrid grid;
+        private final long seed;
+        private final int firstWord, endWord;
+
+        private WordTask(BitfieldGrid grid, long seed, int firstWord, int endWord){
+            this.grid = grid;
+            this.seed = seed;
+            this.firstWord = firstWord;
+            this.endWord = endWord;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.endWord - this.firstWord <= WORDS_PER_TASK){
+                this.fillWords();
+                return;
+            }
+
+            final var middleWord = (this.firstWord + this.endWord) >>> 1;
+            invokeAll(
+                new WordTask(this.grid, this.seed, this.firstWord, middleWord),
+                new WordTask(this.grid, this.seed, middleWord, this.endWord));
+        }
+
+        /**
+         * Fills in every word in this range on the current thread.
+         * A cell stores its link to its eastern neighbor, which it chose itself, and its link to its
+         * southern neighbor, which the southern neighbor chose when it linked north.
+         */
+        private void fillWords(){
+            final var cellCount = this.grid.getCellCount();
+            final var colCount = this.grid.getColumnCount();
+            final var lastColumn = colCount - 1;
+
+            for(var word = this.firstWord; word < this.endWord; word++){
+                final var firstCell = word * BitfieldGrid.CELLS_PER_WORD;
+                final var endCell = Math.min(firstCell + BitfieldGrid.CELLS_PER_WORD, cellCount);
+
+                //Same choices as linksEast and linksNorth, with the column tracked as we go. The random choices are
+                //taken from the sign bit of the hash rather than branched on, since they can't be predicted.
+                var bits = 0L;
+                var column = firstCell % colCount;
+                for(var cell = firstCell; cell < endCell; cell++){
+                    final var shift = (cell - firstCell) * 2;
+
+                    if(column < lastColumn){
+                        final var eastBit = cell < colCount ? 1L : ~CounterHash.hash(this.seed, cell) >>> 63;
+                        bits |= eastBit << shift;
+                    }
+                    if(cell < cellCount - colCount){
+                        final var southBit = column == lastColumn ? 1L : CounterHash.hash(this.seed, cell + colCount) >>> 63;
+                        bits |= southBit << (shift + 1);
+                    }
+
+                    if(++column == colCount){
+                        column = 0;
+                    }
+                }
+                this.grid.setLinkWord(word, bits);
+            }
+        }
     }
 }
@@ -0,0 +1,197 @@
+package com.amw.sms.algorithms.generation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import com.amw.sms.grid.MazeGrid;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Eller's maze-generation algorithm.
+ *
+ * The maze is generated one row at a time, only ever remembering which set each cell of the current row belongs
+ * to. Cells in the same set are connected by some path through the rows above. Within a row, neighboring cells of
+ * different sets are randomly linked, merging their sets. Then every set is carried down into the next row through
+ * at least one randomly chosen link to the south, and cells of the next row that nothing was carried into start
+ * sets of their own. The last row links all neighboring cells of different sets, which connects the whole maze.
+ *
+ * Since finished rows are never looked at again, the maze can be streamed to a consumer row by row (see
+ * {@link Ellers#generate}) using memory proportional to the width of the maze only, however many rows it has.
+ * Applying the algorithm to a grid simply links each emitted row into the grid.
+ */
+@Component
+public class Ellers implements MazeGenAlgorithm{
+    private static final int NO_SET = -1;
+
+    /**
+     * {@inheritDoc}
+     * Generates the same maze as {@link Ellers#generate} does for the same size and generator state.
+     */
+    @Override
+    public void apply(MazeGrid grid, SplittableRandom rng){
+        final var columnCount = grid.getColumnCount();
+        this.generate(grid.getRowCount(), columnCount, rng, (var row) -> {
+            final var firstCell = grid.indexOf(row.getRow(), 0);
+            for(var column = 0; column < columnCount; column++){
+                final var cell = firstCell + column;
+                if(row.isLinkedEast(column))    grid.link(cell, cell + 1);
+                if(row.isLinkedSouth(column))   grid.link(cell, cell + columnCount);
+            }
+        });
+    }
+
+    /**
+     * Generates a maze without a grid, emitting each row as soon as it is finished.
+     * @param rowCount Number of rows of the maze.
+     * @param columnCount Number of columns of the maze.
+     * @param rng Random number generator to draw all random choices from.
+     * @param consumer Consumer of the rows, called once per row from the top. The same row instance is reused,
+     * so it must not be kept after the consumer returns.
+     */
+    public void generate(int rowCount, int columnCount, SplittableRandom rng, Consumer<MazeRow> consumer){
+        final var sets = new RowSets(columnCount);
+        final var row = new MazeRow(columnCount);
+
+        for(var rowIndex = 0; rowIndex < rowCount; rowIndex++){
+            final var lastRow = rowIndex == rowCount - 1;
+            row.reset(rowIndex);
+            sets.startRow();
+
+            //Join neighboring cells of different sets. The last row has to join all of them.
+            for(var column = 0; column < columnCount - 1; column++){
+                if(sets.inSameSet(column, column + 1)) continue;
+
+                if(lastRow || rng.nextBoolean()){
+                    sets.merge(column, column + 1);
+                    row.linkEast(column);
+                }
+            }
+
+            //Carry every set down at least once
+            if(!lastRow){
+                sets.finishRow();
+                for(var column = 0; column < columnCount; column++){
+                    final var isLastOfSet = sets.removeFromCount(column);
+                    if(rng.nextBoolean() || (isLastOfSet && !sets.isCarriedDown(column))){
+                        sets.carryDown(column);
+                        row.linkSouth(column);
+                    } else {
+                        sets.leaveBehind(column);
+                    }
+                }
+            }
+
+            consumer.accept(row);
+        }
+    }
+
+    /**
+     * Sets of the cells of the current row. Sets are identified by labels less than the width of the row, so
+     * that every array can be indexed by them. Merges within a row go through a union-find over the labels,
+     * which are resolved once the row is finished.
+     */
+    private static final class RowSets {
+        private final int[] labels;         //Label of each cell, NO_SET if the cell has no set yet
+        private final int[] parents;        //Union-find parent of each label during the current row
+        private final int[] members;        //Number of cells of each set not yet visited when carrying sets down
+        private final boolean[] carried;    //Whether each set has been carried down yet
+        private int nextLabel = 0;
+
+        private RowSets(int columnCount){
+            this.labels = new int[columnCount];
+            this.parents = new int[columnCount];
+            this.members = new int[columnCount];
+            this.carried = new boolean[columnCount];
+            Arrays.fill(this.labels, NO_SET);
+        }
+
+        /**
+         * Gives every cell that was not carried into the row a set of its own.
+         */
+        private void startRow(){
+            Arrays.fill(this.members, 0);
+            for(final var label : this.labels){
+                if(label != NO_SET) this.members[label]++;
+            }
+
+            for(var column = 0; column < this.labels.length; column++){
+                if(this.labels[column] == NO_SET){
+                    this.labels[column] = this.takeUnusedLabel();
+                }
+            }
+
+            for(var label = 0; label < this.parents.length; label++){
+                this.parents[label] = label;
+            }
+        }
+
+        /**
+         * Returns a label that no cell of the row has, and marks it used. There are as many labels as cells,
+         * so one is always free.
+         */
+        private int takeUnusedLabel(){
+            while(this.members[this.nextLabel] != 0){
+                this.nextLabel = (this.nextLabel + 1) % this.members.length;
+            }
+            this.members[this.nextLabel] = 1;
+            return this.nextLabel;
+        }
+
+        private boolean inSameSet(int column1, int column2){
+            return this.find(this.labels[column1]) == this.find(this.labels[column2]);
+        }
+
+        private void merge(int column1, int column2){
+            this.parents[this.find(this.labels[column2])] = this.find(this.labels[column1]);
+        }
+
+        private int find(int label){
+            while(this.parents[label] != label){
+                this.parents[label] = this.parents[this.parents[label]];
+                label = this.parents[label];
+            }
+            return label;
+        }
+
+        /**
+         * Resolves the merges of the row and counts the cells of each set.
+         */
+        private void finishRow(){
+            Arrays.fill(this.members, 0);
+            Arrays.fill(this.carried, false);
+            for(var column = 0; column < this.labels.length; column++){
+                final var label = this.find(this.labels[column]);
+                this.labels[column] = label;
+                this.members[label]++;
+            }
+        }
+
+        /**
+         * Counts a cell as visited while carrying sets down.
+         * @return true if it is the last cell of its set.
+         */
+        private boolean removeFromCount(int column){
+            return --this.members[this.labels[column]] == 0;
+        }
+
+        private boolean isCarriedDown(int column){
+            return this.carried[this.labels[column]];
+        }
+
+        /**
+         * Keeps the cell's set for the cell below it.
+         */
+        private void carryDown(int column){
+            this.carried[this.labels[column]] = true;
+        }
+
+        /**
+         * Leaves the cell below without a set.
+         */
+        private void leaveBehind(int column){
+            this.labels[column] = NO_SET;
+        }
+    }
+}
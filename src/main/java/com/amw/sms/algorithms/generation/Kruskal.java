@@ -0,0 +1,299 @@
+package com.amw.sms.algorithms.generation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.amw.sms.grid.MazeGrid;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Randomized Kruskal's maze-generation algorithm.
+ *
+ * Every pair of neighboring cells is a candidate link, and the candidates are shuffled. Going through them in that
+ * order, two cells are linked whenever they are not connected yet, which is tracked with a union-find over the
+ * cells. The result is a spanning tree without any directional bias.
+ *
+ * The candidates are packed into a long[] (the two cells of a pair in the two halves of a long) and the union-find
+ * parents and tree sizes into int[]s, so nothing is allocated per cell. Trees are joined by size and paths are halved
+ * by every find, using plain array accesses. A parallel version of the algorithm, see {@link Kruskal#inParallel},
+ * follows Filter-Kruskal: the first half of the remaining candidates is processed (recursively), then the candidates
+ * of the second half whose cells have already been connected are filtered out across the pool, and only the
+ * survivors are processed. Filtering only reads the union-find, halving its paths with compare-and-set, so it needs
+ * no locks. Candidates are always processed in the shuffled order, so the same
+ * seed produces the same maze whether it is generated in parallel or not.
+ */
+@Component
+public class Kruskal implements MazeGenAlgorithm{
+    //Below this many candidates, the candidates are processed directly instead of being filtered first
+    private static final int SEQUENTIAL_CANDIDATES = 1 << 15;
+
+    //Number of candidates that a single task filters when running in parallel
+    private static final int CANDIDATES_PER_TASK = 1 << 13;
+
+    //Largest array that every JVM can allocate
+    private static final int MAX_CANDIDATES = Integer.MAX_VALUE - 8;
+
+    private static final VarHandle PARENTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Optional<ForkJoinPool> pool;
+
+    public Kruskal(){
+        this.pool = Optional.empty();
+    }
+
+    /**
+     * Constructs Kruskal algorithm that filters candidates on the provided pool.
+     * @param pool Pool to run on.
+     */
+    private Kruskal(ForkJoinPool pool){
+        this.pool = Optional.of(pool);
+    }
+
+    @Override
+    public MazeGenAlgorithm inParallel(ForkJoinPool pool){
+        return new Kruskal(pool);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The same generator state always produces the same maze, whether it is generated in parallel or not.
+     */
+    @Override
+    public final void apply(MazeGrid grid, SplittableRandom rng){
+        final var candidates = this.shuffledCandidates(grid, rng);
+        final var forest = new Forest(grid);
+
+        if(this.pool.isPresent()){
+            this.filterKruskal(forest, candidates, 0, candidates.length);
+        } else {
+            forest.linkAll(candidates, 0, candidates.length);
+        }
+    }
+
+    /**
+     * Returns every pair of neighboring cells in random order.
+     * @param grid Grid containing the cells.
+     * @param rng Random number generator.
+     * @return The pairs, each packed into a long with the first cell in the high half.
+     * @throws IllegalArgumentException If the grid has more pairs than fit in an array.
+     */
+    private long[] shuffledCandidates(MazeGrid grid, SplittableRandom rng){
+        final var rowCount = grid.getRowCount();
+        final var colCount = grid.getColumnCount();
+        final var candidateCount = (long) rowCount * (colCount - 1) + (long) (rowCount - 1) * colCount;
+        if(candidateCount > MAX_CANDIDATES){
+            throw new IllegalArgumentException("Grid of %sx%s has %s pairs of neighbors, more than Kruskal can hold"
+                .formatted(rowCount, colCount, candidateCount));
+        }
+        final var candidates = new long[(int) candidateCount];
+
+        var count = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            final var east = grid.east(cell);
+            if(east != MazeGrid.NO_CELL) candidates[count++] = pack(cell, east);
+            final var south = grid.south(cell);
+            if(south != MazeGrid.NO_CELL) candidates[count++] = pack(cell, south);
+        }
+
+        for(var i = candidates.length - 1; i > 0; i--){
+            final var j = rng.nextInt(i + 1);
+            final var swapped = candidates[i];
+            candidates[i] = candidates[j];
+            candidates[j] = swapped;
+        }
+        return candidates;
+    }
+
+    /**
+     * Processes a range of candidates in order, filtering the second half of the range across the pool once the
+     * first half has been processed.
+     * @param forest The union-find of the grid's cells.
+     * @param candidates The candidates.
+     * @param first Index of the first candidate of the range.
+     * @param end Index just past the last candidate of the range.
+     */
+    private void filterKruskal(Forest forest, long[] candidates, int first, int end){
+        if(forest.isSpanning()) return;
+        if(end - first <= SEQUENTIAL_CANDIDATES){
+            forest.linkAll(candidates, first, end);
+            return;
+        }
+
+        final var middle = (first + end) >>> 1;
+        this.filterKruskal(forest, candidates, first, middle);
+        if(forest.isSpanning()) return;
+
+        final var remaining = this.filter(forest, candidates, middle, end);
+        this.filterKruskal(forest, candidates, middle, middle + remaining);
+    }
+
+    /**
+     * Removes the candidates whose cells are already connected from a range, keeping the rest in order at the
+     * start of the range.
+     * @return Number of candidates left.
+     */
+    private int filter(Forest forest, long[] candidates, int first, int end){
+        final var taskCount = (end - first + CANDIDATES_PER_TASK - 1) / CANDIDATES_PER_TASK;
+        final var kept = new int[taskCount];
+        this.pool.get().invoke(new FilterTask(forest, candidates, first, end, kept, 0, taskCount));
+
+        //Every task kept its candidates at the start of its own slice, so the slices are moved together
+        var remaining = kept[0];
+        for(var task = 1; task < taskCount; task++){
+            System.arraycopy(candidates, first + task * CANDIDATES_PER_TASK, candidates, first + remaining, kept[task]);
+            remaining += kept[task];
+        }
+        return remaining;
+    }
+
+    private static long pack(int cell1, int cell2){
+        return ((long) cell1 << Integer.SIZE) | cell2;
+    }
+
+    private static int firstOf(long candidate){
+        return (int) (candidate >>> Integer.SIZE);
+    }
+
+    private static int secondOf(long candidate){
+        return (int) candidate;
+    }
+
+    /**
+     * Union-find over the cells of a grid, linking the cells in the grid whenever two trees are joined.
+     * Linking runs on a single thread. Only the finds made while filtering may run concurrently with each other,
+     * but not with linking.
+     */
+    private static final class Forest {
+        private final MazeGrid grid;
+        private final int[] parents;
+        private final int[] sizes;
+        private int treeCount;
+
+        private Forest(MazeGrid grid){
+            this.grid = grid;
+            this.parents = new int[grid.getCellCount()];
+            this.sizes = new int[this.parents.length];
+            for(var cell = 0; cell < this.parents.length; cell++){
+                this.parents[cell] = cell;
+            }
+            Arrays.fill(this.sizes, 1);
+            this.treeCount = this.parents.length;
+        }
+
+        /**
+         * Goes through a range of candidates in order, linking each one whose cells are not connected yet.
+         */
+        private void linkAll(long[] candidates, int first, int end){
+            for(var i = first; i < end && !this.isSpanning(); i++){
+                final var cell1 = firstOf(candidates[i]);
+                final var cell2 = secondOf(candidates[i]);
+                final var root1 = this.find(cell1);
+                final var root2 = this.find(cell2);
+                if(root1 == root2) continue;
+
+                //Join the smaller tree under the root of the larger one
+                final var larger = this.sizes[root1] >= this.sizes[root2] ? root1 : root2;
+                final var smaller = larger == root1 ? root2 : root1;
+                this.parents[smaller] = larger;
+                this.sizes[larger] += this.sizes[smaller];
+                this.treeCount--;
+                this.grid.link(cell1, cell2);
+            }
+        }
+
+        /**
+         * Indicates whether the cells of a candidate are already connected. May be called from multiple threads.
+         */
+        private boolean isConnected(long candidate){
+            return this.findConcurrently(firstOf(candidate)) == this.findConcurrently(secondOf(candidate));
+        }
+
+        private boolean isSpanning(){
+            return this.treeCount == 1;
+        }
+
+        /**
+         * Finds the root of a cell's tree, halving the path along the way.
+         */
+        private int find(int cell){
+            while(this.parents[cell] != cell){
+                final var grandparent = this.parents[this.parents[cell]];
+                this.parents[cell] = grandparent;
+                cell = grandparent;
+            }
+            return cell;
+        }
+
+        /**
+         * Finds the root of a cell's tree, halving the path along the way. Another thread may halve the
+         * same path at the same time, so each step only succeeds if the parent is still the one that was read.
+         */
+        private int findConcurrently(int cell){
+            var parent = (int) PARENTS.getVolatile(this.parents, cell);
+            while(parent != cell){
+                final var grandparent = (int) PARENTS.getVolatile(this.parents, parent);
+                PARENTS.compareAndSet(this.parents, cell, parent, grandparent);
+                cell = grandparent;
+                parent = (int) PARENTS.getVolatile(this.parents, cell);
+            }
+            return cell;
+        }
+    }
+
+    /**
+     * Filters a range of slices of candidates. When invoked on a pool, the range is split in half until
+     * single slices remain, which are then filtered in parallel.
+     */
+    private final class FilterTask extends RecursiveAction {
+        private final Forest forest;
+        private final long[] candidates;
+        private final int first, end;
+        private final int[] kept;
+        private final int firstTask, endTask;
+
+        private FilterTask(Forest forest, long[] candidates, int first, int end, int[] kept, int firstTask, int endTask){
+            this.forest = forest;
+            this.candidates = candidates;
+            this.first = first;
+            this.end = end;
+            this.kept = kept;
+            this.firstTask = firstTask;
+            this.endTask = endTask;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.endTask - this.firstTask <= 1){
+                this.filterSlice();
+                return;
+            }
+
+            final var middleTask = (this.firstTask + this.endTask) >>> 1;
+            invokeAll(
+                new FilterTask(this.forest, this.candidates, this.first, this.end, this.kept, this.firstTask, middleTask),
+                new FilterTask(this.forest, this.candidates, this.first, this.end, this.kept, middleTask, this.endTask));
+        }
+
+        /**
+         * Keeps the candidates of this task's slice whose cells are not connected yet, in order, at the start
+         * of the slice.
+         */
+        private void filterSlice(){
+            final var sliceStart = this.first + this.firstTask * CANDIDATES_PER_TASK;
+            final var sliceEnd = Math.min(sliceStart + CANDIDATES_PER_TASK, this.end);
+            var keptCount = 0;
+            for(var i = sliceStart; i < sliceEnd; i++){
+                if(!this.forest.isConnected(this.candidates[i])){
+                    this.candidates[sliceStart + keptCount++] = this.candidates[i];
+                }
+            }
+            this.kept[this.firstTask] = keptCount;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.amw.sms.algorithms.generation;
 
-import com.amw.sms.grid.Grid;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.amw.sms.grid.MazeGrid;
 
 /**
  * Interface for maze-generation algorithms. When applied to a grid, such an algorithm
@@ -8,8 +11,28 @@ import com.amw.sms.grid.Grid;
  */
 public interface MazeGenAlgorithm {
     /**
-     * Apply the maze-generation algorithm to the grid.
+     * Apply the maze-generation algorithm to the grid, using an unseeded random number generator.
+     * @param grid Grid to update into a maze.
+     */
+    public default void apply(MazeGrid grid){
+        this.apply(grid, new SplittableRandom());
+    }
+
+    /**
+     * Apply the maze-generation algorithm to the grid, drawing all random choices from the provided generator.
+     * Applying the algorithm to the same size of grid with a generator in the same state always produces the same maze.
      * @param grid Grid to update into a maze.
+     * @param rng Random number generator.
+     */
+    public void apply(MazeGrid grid, SplittableRandom rng);
+
+    /**
+     * Returns a version of this algorithm that spreads its work across the provided pool.
+     * Algorithms that cannot be parallelized return themselves.
+     * @param pool Pool to run the algorithm on.
+     * @return The parallel algorithm.
      */
-    public void apply(Grid grid);
+    public default MazeGenAlgorithm inParallel(ForkJoinPool pool){
+        return this;
+    }
 }
@@ -5,5 +5,10 @@ package com.amw.sms.algorithms.generation;
  */
 public enum MazeGenAlgorithmType {
     BINARY_TREE,
-    SIDEWINDER
+    SIDEWINDER,
+    RECURSIVE_BACKTRACKER,
+    ELLERS,
+    KRUSKAL,
+    WILSONS,
+    RECURSIVE_DIVISION
 }
@@ -0,0 +1,79 @@
+package com.amw.sms.algorithms.generation;
+
+import java.util.Arrays;
+
+/**
+ * Links of a single row of a maze, as emitted by a streaming generator (see {@link Ellers#generate}). Each cell
+ * can be linked to its eastern neighbor and to its southern neighbor in the next row. Links to the west and north
+ * are the east and south links of the neighboring cells.
+ *
+ * Generators reuse the same instance for every row, so a row is only valid until the consumer returns.
+ */
+public class MazeRow {
+    private final int columnCount;
+    private final long[] eastLinks;
+    private final long[] southLinks;
+    private int row = 0;
+
+    /**
+     * Constructs row without any links.
+     * @param columnCount Number of cells in the row.
+     */
+    MazeRow(int columnCount){
+        this.columnCount = columnCount;
+        this.eastLinks = new long[(columnCount + Long.SIZE - 1) / Long.SIZE];
+        this.southLinks = new long[this.eastLinks.length];
+    }
+
+    /**
+     * Get the index of the row within the maze.
+     * @return Index of the row, counting from the top.
+     */
+    public int getRow(){
+        return this.row;
+    }
+
+    /**
+     * Get the number of cells in the row.
+     * @return Number of columns.
+     */
+    public int getColumnCount(){
+        return this.columnCount;
+    }
+
+    /**
+     * Indicates whether a cell of the row is linked to its eastern neighbor.
+     * @param column Column of the cell.
+     * @return true if the cell is linked to the cell in the next column.
+     */
+    public boolean isLinkedEast(int column){
+        return (this.eastLinks[column >>> 6] & (1L << column)) != 0;
+    }
+
+    /**
+     * Indicates whether a cell of the row is linked to its southern neighbor.
+     * @param column Column of the cell.
+     * @return true if the cell is linked to the cell in the same column of the next row.
+     */
+    public boolean isLinkedSouth(int column){
+        return (this.southLinks[column >>> 6] & (1L << column)) != 0;
+    }
+
+    void linkEast(int column){
+        this.eastLinks[column >>> 6] |= 1L << column;
+    }
+
+    void linkSouth(int column){
+        this.southLinks[column >>> 6] |= 1L << column;
+    }
+
+    /**
+     * Clears all links, ready for the provided row to be generated.
+     * @param row Index of the next row.
+     */
+    void reset(int row){
+        this.row = row;
+        Arrays.fill(this.eastLinks, 0L);
+        Arrays.fill(this.southLinks, 0L);
+    }
+}
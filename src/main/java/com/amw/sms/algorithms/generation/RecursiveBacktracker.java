@@ -0,0 +1,72 @@
+package com.amw.sms.algorithms.generation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.amw.sms.grid.MazeGrid;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Recursive backtracker maze-generation algorithm, i.e. a randomized depth-first search.
+ *
+ * Starting from a random cell, the algorithm keeps walking to a random unvisited neighbor of the current cell,
+ * linking the two. When the current cell has no unvisited neighbors left, it backtracks to the previous cell of the
+ * walk. This produces mazes with long, winding corridors and few dead ends.
+ *
+ * Rather than recursing, which overflows the thread's stack on large grids, the walk is kept on an explicit stack
+ * of cell indexes that grows as needed. Visited cells are tracked in a bitset and neighbors are chosen from a fixed
+ * buffer, so nothing is allocated per step.
+ */
+@Component
+public class RecursiveBacktracker implements MazeGenAlgorithm{
+    private static final int INITIAL_STACK_SIZE = 1 << 10;
+
+    @Override
+    public void apply(MazeGrid grid, SplittableRandom rng){
+        final var cellCount = grid.getCellCount();
+        final var visited = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        var stack = new int[Math.min(cellCount, INITIAL_STACK_SIZE)];
+        var depth = 0;
+
+        final var start = rng.nextInt(cellCount);
+        visit(visited, start);
+        stack[depth++] = start;
+
+        while(depth > 0){
+            final var cell = stack[depth - 1];
+
+            //Keep only the unvisited neighbors in the buffer
+            var unvisitedCount = 0;
+            final var neighborCount = grid.getNeighbors(cell, neighbors);
+            for(var i = 0; i < neighborCount; i++){
+                if(!isVisited(visited, neighbors[i])){
+                    neighbors[unvisitedCount++] = neighbors[i];
+                }
+            }
+
+            //Dead end, backtrack
+            if(unvisitedCount == 0){
+                depth--;
+                continue;
+            }
+
+            final var next = neighbors[rng.nextInt(unvisitedCount)];
+            grid.link(cell, next);
+            visit(visited, next);
+            if(depth == stack.length){
+                stack = Arrays.copyOf(stack, (int) Math.min(cellCount, 2L * stack.length));
+            }
+            stack[depth++] = next;
+        }
+    }
+
+    private static boolean isVisited(long[] visited, int cell){
+        return (visited[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void visit(long[] visited, int cell){
+        visited[cell >>> 6] |= 1L << cell;
+    }
+}
@@ -0,0 +1,213 @@
+package com.amw.sms.algorithms.generation;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.amw.sms.grid.MazeGrid;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Recursive division maze-generation algorithm.
+ *
+ * Unlike the other algorithms, which carve paths into a grid full of walls, recursive division starts from a grid
+ * without any walls (see {@link MazeGrid#linkAll}) and adds them. The whole grid is one chamber, which is divided in
+ * two by a wall with a single passage through it. Each of the two chambers is then divided the same way, until the
+ * chambers are only one cell wide. Walls run across the longer side of a chamber, which keeps the chambers from
+ * becoming long corridors. The result has the algorithm's typical look of long straight walls and boxy areas.
+ *
+ * Once a chamber's wall is in place, its two halves never touch the same links, so they can be divided
+ * independently. A parallel version of the algorithm, see {@link RecursiveDivision#inParallel}, divides them as
+ * fork-join tasks on grids that support concurrent linking and sequentially on all other grids. Chambers that are
+ * small enough are divided on a single thread, with their own random number stream.
+ */
+@Component
+public class RecursiveDivision implements MazeGenAlgorithm{
+    //Chambers of at most this many cells are divided on a single thread with a single random number stream.
+    //Larger chambers split the stream between their halves, which only depends on the chambers, so the maze is
+    //the same for a given seed no matter how many threads generate it.
+    private static final int CELLS_PER_TASK = 1 << 14;
+
+    private final Optional<ForkJoinPool> pool;
+
+    public RecursiveDivision(){
+        this.pool = Optional.empty();
+    }
+
+    /**
+     * Constructs recursive division algorithm that divides its chambers on the provided pool.
+     * @param pool Pool to run on.
+     */
+    private RecursiveDivision(ForkJoinPool pool){
+        this.pool = Optional.of(pool);
+    }
+
+    @Override
+    public MazeGenAlgorithm inParallel(ForkJoinPool pool){
+        return new RecursiveDivision(pool);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Any links that the grid already has are replaced. The same generator state always produces the same maze,
+     * whether it is generated in parallel or not.
+     */
+    @Override
+    public final void apply(MazeGrid grid, SplittableRandom rng){
+        grid.linkAll();
+
+        final var parallel = this.pool.isPresent() && grid.supportsConcurrentLinking();
+        final var chamber = new ChamberTask(grid, 0, 0, grid.getRowCount(), grid.getColumnCount(), rng.split(), parallel);
+        if(parallel){
+            this.pool.get().invoke(chamber);
+        } else {
+            chamber.divide();
+        }
+    }
+
+    /**
+     * Divides a chamber, and then every chamber within it, on the current thread.
+     * @param grid Grid containing the chamber.
+     * @param row Top row of the chamber.
+     * @param column Leftmost column of the chamber.
+     * @param height Number of rows in the chamber.
+     * @param width Number of columns in the chamber.
+     * @param rng Random number generator.
+     */
+    private static void divideChamber(MazeGrid grid, int row, int column, int height, int width, SplittableRandom rng){
+        //Only the smaller half is divided recursively, while the larger one is divided by the next iteration,
+        //so the stack never grows beyond the logarithm of the chamber's size
+        while(height > 1 && width > 1){
+            if(isDividedHorizontally(height, width, rng)){
+                final var topHeight = addHorizontalWall(grid, row, column, height, width, rng);
+                final var bottomHeight = height - topHeight;
+                if(topHeight <= bottomHeight){
+                    divideChamber(grid, row, column, topHeight, width, rng);
+                    row += topHeight;
+                    height = bottomHeight;
+                } else {
+                    divideChamber(grid, row + topHeight, column, bottomHeight, width, rng);
+                    height = topHeight;
+                }
+            } else {
+                final var leftWidth = addVerticalWall(grid, row, column, height, width, rng);
+                final var rightWidth = width - leftWidth;
+                if(leftWidth <= rightWidth){
+                    divideChamber(grid, row, column, height, leftWidth, rng);
+                    column += leftWidth;
+                    width = rightWidth;
+                } else {
+                    divideChamber(grid, row, column + leftWidth, height, rightWidth, rng);
+                    width = leftWidth;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decides whether a chamber is divided by a horizontal wall, i.e. one running from west to east.
+     * Walls run across the longer side of the chamber, or either way if the chamber is square.
+     */
+    private static boolean isDividedHorizontally(int height, int width, SplittableRandom rng){
+        if(height != width){
+            return height > width;
+        }
+        return rng.nextBoolean();
+    }
+
+    /**
+     * Adds a wall running from west to east at a random row of a chamber, leaving a single passage through it.
+     * @return Number of rows of the chamber above the wall.
+     */
+    private static int addHorizontalWall(MazeGrid grid, int row, int column, int height, int width, SplittableRandom rng){
+        final var wallRow = row + rng.nextInt(height - 1);
+        final var passage = column + rng.nextInt(width);
+        for(var wallColumn = column; wallColumn < column + width; wallColumn++){
+            if(wallColumn == passage) continue;
+
+            final var cell = grid.indexOf(wallRow, wallColumn);
+            grid.unlink(cell, grid.south(cell));
+        }
+        return wallRow - row + 1;
+    }
+
+    /**
+     * Adds a wall running from north to south at a random column of a chamber, leaving a single passage through it.
+     * @return Number of columns of the chamber left of the wall.
+     */
+    private static int addVerticalWall(MazeGrid grid, int row, int column, int height, int width, SplittableRandom rng){
+        final var wallColumn = column + rng.nextInt(width - 1);
+        final var passage = row + rng.nextInt(height);
+        for(var wallRow = row; wallRow < row + height; wallRow++){
+            if(wallRow == passage) continue;
+
+            final var cell = grid.indexOf(wallRow, wallColumn);
+            grid.unlink(cell, grid.east(cell));
+        }
+        return wallColumn - column + 1;
+    }
+
+    /**
+     * Divides a chamber. Chambers larger than {@link RecursiveDivision#CELLS_PER_TASK} cells are divided in two
+     * halves that are then divided as separate tasks, in parallel when invoked on a pool.
+     */
+    private static final class ChamberTask extends RecursiveAction {
+        private final MazeGrid grid;
+        private final int row, column;
+        private final int height, width;
+        private final SplittableRandom rng;
+        private final boolean parallel;
+
+        private ChamberTask(MazeGrid grid, int row, int column, int height, int width, SplittableRandom rng, boolean parallel){
+            this.grid = grid;
+            this.row = row;
+            this.column = column;
+            this.height = height;
+            this.width = width;
+            this.rng = rng;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute(){
+            this.divide();
+        }
+
+        /**
+         * Divides the chamber, forking its halves if running in parallel.
+         */
+        private void divide(){
+            if(this.height == 1 || this.width == 1 || (long) this.height * this.width <= CELLS_PER_TASK){
+                divideChamber(this.grid, this.row, this.column, this.height, this.width, this.rng);
+                return;
+            }
+
+            final ChamberTask first, second;
+            if(isDividedHorizontally(this.height, this.width, this.rng)){
+                final var topHeight = addHorizontalWall(this.grid, this.row, this.column, this.height, this.width, this.rng);
+                first = this.part(this.row, this.column, topHeight, this.width);
+                second = this.part(this.row + topHeight, this.column, this.height - topHeight, this.width);
+            } else {
+                final var leftWidth = addVerticalWall(this.grid, this.row, this.column, this.height, this.width, this.rng);
+                first = this.part(this.row, this.column, this.height, leftWidth);
+                second = this.part(this.row, this.column + leftWidth, this.height, this.width - leftWidth);
+            }
+
+            if(this.parallel){
+                invokeAll(first, second);
+            } else {
+                first.divide();
+                second.divide();
+            }
+        }
+
+        /**
+         * Returns task dividing part of this chamber, with its own random number stream.
+         */
+        private ChamberTask part(int row, int column, int height, int width){
+            return new ChamberTask(this.grid, row, column, height, width, this.rng.split(), this.parallel);
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.amw.sms.algorithms.generation;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import com.amw.sms.grid.Cell;
-import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
 import com.amw.sms.util.CoinFlip;
 
 import org.springframework.stereotype.Component;
@@ -27,35 +28,71 @@ import org.springframework.stereotype.Component;
  * for a single implementation of the central algorithm (instead of one that account for all 4 directions), 
  * and instead, handle the directional change via redirection through a grid-rotation algorithm. 
  * 
+ * Since each row is independent of the others, rows are generated in stripes that each draw from their own
+ * random number stream. A parallel version of the algorithm, see {@link Sidewinder#inParallel}, generates the
+ * stripes concurrently on grids that support concurrent linking and sequentially on all other grids.
  */
 @Component
 public class Sidewinder implements MazeGenAlgorithm{
-    private final Random rng;
-    private final CoinFlip coinFlip;
+    //Rows are generated in stripes of roughly this many cells, each with its own random number stream.
+    //The stripes depend only on the grid's size, which keeps the maze the same for a given seed no matter
+    //how many threads generate it.
+    private static final int CELLS_PER_STRIPE = 1 << 14;
+
+    private final Optional<ForkJoinPool> pool;
 
     public Sidewinder(){
-        rng = new Random();
-        coinFlip = new CoinFlip(); 
+        this.pool = Optional.empty();
     }
 
-    public final void apply(Grid grid){
-        grid.getRows()
-        //grid.getColumns() //If we wanted sidewinder to generate a maze in west/east direction
-            .stream()
-            .forEach(this::visitRow);
+    /**
+     * Constructs Sidewinder algorithm that generates its stripes of rows on the provided pool.
+     * @param pool Pool to run on.
+     */
+    private Sidewinder(ForkJoinPool pool){
+        this.pool = Optional.of(pool);
     }
 
-    private void visitRow(List<Cell> row){
-        final var currentRun = new ArrayList<Cell>();
+    @Override
+    public MazeGenAlgorithm inParallel(ForkJoinPool pool){
+        return new Sidewinder(pool);
+    }
 
-        row.forEach((var cell) -> {
-            currentRun.add(cell);
-            final var atEastBound = cell.getEast().isEmpty();
-            final var atNorthBound = cell.getNorth().isEmpty();
+    /**
+     * {@inheritDoc}
+     * The same generator state always produces the same maze, whether it is generated in parallel or not.
+     */
+    @Override
+    public final void apply(MazeGrid grid, SplittableRandom rng){
+        //Every row only links cells within itself and to the row above, so rows are independent of each other.
+        //If we wanted sidewinder to generate a maze in west/east direction, we would visit each column instead
+        final var rowsPerStripe = Math.max(1, CELLS_PER_STRIPE / grid.getColumnCount());
+        final var stripeCount = (grid.getRowCount() + rowsPerStripe - 1) / rowsPerStripe;
+        final var stripeRngs = new SplittableRandom[stripeCount];
+        for(var stripe = 0; stripe < stripeCount; stripe++){
+            stripeRngs[stripe] = rng.split();
+        }
+
+        final var stripes = new StripeTask(grid, stripeRngs, rowsPerStripe, 0, stripeCount);
+        if(this.pool.isPresent() && grid.supportsConcurrentLinking()){
+            this.pool.get().invoke(stripes);
+        } else {
+            stripes.visitStripes();
+        }
+    }
+
+    private void visitRow(MazeGrid grid, int row, SplittableRandom rng, CoinFlip coinFlip){
+        //The current run is always the cells from runStart up to the current cell
+        var runStart = grid.indexOf(row, 0);
+
+        for(var column = 0; column < grid.getColumnCount(); column++){
+            final var cell = grid.indexOf(row, column);
+            final var atEastBound = grid.east(cell) == MazeGrid.NO_CELL;
+            final var atNorthBound = grid.north(cell) == MazeGrid.NO_CELL;
             
             //Edge-case: if at north-east corner of grid, no options so end 
             if(atEastBound && atNorthBound){
-                return;
+                continue;
             }
 
             //Close run if..
@@ -67,37 +104,86 @@ public class Sidewinder implements MazeGenAlgorithm{
             if(shouldCloseRun){
                 //Link one of the cells in the run to it's northern neighbor
                 //Known: All cells in the current run have a northern neighbor
-                final var cellFromRun = currentRun.get(rng.nextInt(currentRun.size()));
-                cellFromRun.link(cellFromRun.getNorth().get());
-                currentRun.clear();
+                final var cellFromRun = runStart + rng.nextInt(cell - runStart + 1);
+                grid.link(cellFromRun, grid.north(cellFromRun));
+                runStart = cell + 1;
             } else {
-                cell.link(cell.getEast().get());
+                grid.link(cell, grid.east(cell));
             }
-        });
+        }
     }
 
-    private void visitColumn(List<Cell> column){
-        final var currentRun = new ArrayList<Cell>();
+    private void visitColumn(MazeGrid grid, int column, SplittableRandom rng, CoinFlip coinFlip){
+        final var currentRun = new ArrayList<Integer>();
 
-        column.forEach((var cell) -> {
+        for(var row = 0; row < grid.getRowCount(); row++){
+            final var cell = grid.indexOf(row, column);
             currentRun.add(cell);
-            final var atSouthBound = cell.getSouth().isEmpty();
-            final var atWestBound = cell.getWest().isEmpty();
+            final var atSouthBound = grid.south(cell) == MazeGrid.NO_CELL;
+            final var atWestBound = grid.west(cell) == MazeGrid.NO_CELL;
             
             if(atSouthBound && atWestBound){
-                return;
+                continue;
             }
 
             final var shouldCloseRun = atSouthBound 
                 || (!atWestBound && coinFlip.isHeads());
 
             if(shouldCloseRun){
-                final var cellFromRun = currentRun.get(rng.nextInt(currentRun.size()));
-                cellFromRun.link(cellFromRun.getWest().get());
+                final int cellFromRun = currentRun.get(rng.nextInt(currentRun.size()));
+                grid.link(cellFromRun, grid.west(cellFromRun));
                 currentRun.clear();
             } else {
-                cell.link(cell.getNorth().get());
+                grid.link(cell, grid.north(cell));
+            }
+        }
+    }
+
+    /**
+     * Visits a range of stripes of rows. When invoked on a pool, the range is split in half until
+     * single stripes remain, which are then visited in parallel.
+     */
+    private final class StripeTask extends RecursiveAction {
+        private final MazeGrid grid;
+        private final SplittableRandom[] stripeRngs;
+        private final int rowsPerStripe;
+        private final int firstStripe, endStripe;
+
+        private StripeTask(MazeGrid grid, SplittableRandom[] stripeRngs, int rowsPerStripe, int firstStripe, int endStripe){
+            this.grid = grid;
+            this.stripeRngs = stripeRngs;
+            this.rowsPerStripe = rowsPerStripe;
+            this.firstStripe = firstStripe;
+            this.endStripe = endStripe;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.endStripe - this.firstStripe <= 1){
+                this.visitStripes();
+                return;
+            }
+
+            final var middleStripe = (this.firstStripe + this.endStripe) >>> 1;
+            invokeAll(
+                new StripeTask(this.grid, this.stripeRngs, this.rowsPerStripe, this.firstStripe, middleStripe),
+                new StripeTask(this.grid, this.stripeRngs, this.rowsPerStripe, middleStripe, this.endStripe));
+        }
+
+        /**
+         * Visits every row of the stripes in this range, in order, on the current thread.
+         */
+        private void visitStripes(){
+            for(var stripe = this.firstStripe; stripe < this.endStripe; stripe++){
+                final var rng = this.stripeRngs[stripe];
+                final var coinFlip = new CoinFlip(50, rng);
+                final var firstRow = stripe * this.rowsPerStripe;
+                final var endRow = Math.min(firstRow + this.rowsPerStripe, this.grid.getRowCount());
+
+                for(var row = firstRow; row < endRow; row++){
+                    visitRow(this.grid, row, rng, coinFlip);
+                }
             }
-        });
+        }
     }
 }
@@ -0,0 +1,106 @@
+package com.amw.sms.algorithms.generation;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.grid.MazeGrid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wilson's maze-generation algorithm, which generates every possible maze of a grid with equal probability.
+ *
+ * Starting from a maze of a single cell, a random walk is made from a cell outside of the maze until it reaches
+ * the maze. Every loop of the walk is erased, and what is left of the walk is added to the maze. This is repeated
+ * until every cell is in the maze.
+ *
+ * The walk is stored as the next cell of every cell it passed through, in an int[] indexed by cell. Walking over a
+ * cell again simply overwrites its next cell, which erases the loop, so the walk never has to be searched. Cells in
+ * the maze are tracked in a bitset, and neighbors are chosen from a fixed buffer, so nothing is allocated per step.
+ *
+ * Early walks are long, since the maze they are looking for is small. Optionally, the maze is instead first grown
+ * with the Aldous-Broder algorithm, a single random walk that adds every cell it visits for the first time, until
+ * it holds a fraction of the cells. Both algorithms generate uniform mazes, and so does switching between them.
+ */
+@Component
+public class Wilsons implements MazeGenAlgorithm{
+    private final double warmStartFraction;
+
+    /**
+     * Constructs Wilson's algorithm without a warm start.
+     */
+    public Wilsons(){
+        this(0);
+    }
+
+    /**
+     * Constructs Wilson's algorithm with an Aldous-Broder warm start.
+     * @param warmStartFraction Fraction of the cells to add with Aldous-Broder before switching to loop-erased
+     * walks. 0 disables the warm start.
+     */
+    @Autowired
+    public Wilsons(@Value("${maze.wilsons.warm-start-fraction:0}") double warmStartFraction){
+        if(warmStartFraction < 0 || warmStartFraction > 1){
+            throw new IllegalArgumentException("Warm-start fraction must be between 0 and 1, but was " + warmStartFraction);
+        }
+        this.warmStartFraction = warmStartFraction;
+    }
+
+    @Override
+    public void apply(MazeGrid grid, SplittableRandom rng){
+        final var cellCount = grid.getCellCount();
+        final var inMaze = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+
+        //Aldous-Broder, or just the first cell of the maze
+        final var warmStartCells = Math.max(1, (long) Math.ceil(this.warmStartFraction * cellCount));
+        var current = rng.nextInt(cellCount);
+        add(inMaze, current);
+        for(var added = 1; added < warmStartCells;){
+            final var next = neighbors[rng.nextInt(grid.getNeighbors(current, neighbors))];
+            if(!contains(inMaze, next)){
+                grid.link(current, next);
+                add(inMaze, next);
+                added++;
+            }
+            current = next;
+        }
+
+        //Loop-erased walks from every cell that is not in the maze yet
+        final var nextInWalk = new int[cellCount];
+        for(var start = 0; start < cellCount; start++){
+            if(contains(inMaze, start)) continue;
+
+            var cell = start;
+            while(!contains(inMaze, cell)){
+                final var next = neighbors[rng.nextInt(grid.getNeighbors(cell, neighbors))];
+                nextInWalk[cell] = next;
+                cell = next;
+            }
+
+            cell = start;
+            while(!contains(inMaze, cell)){
+                add(inMaze, cell);
+                grid.link(cell, nextInWalk[cell]);
+                cell = nextInWalk[cell];
+            }
+        }
+    }
+
+    /**
+     * Get the fraction of the cells added with Aldous-Broder before switching to loop-erased walks.
+     * @return The fraction. 0 if there is no warm start.
+     */
+    public double getWarmStartFraction(){
+        return this.warmStartFraction;
+    }
+
+    private static boolean contains(long[] inMaze, int cell){
+        return (inMaze[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void add(long[] inMaze, int cell){
+        inMaze[cell >>> 6] |= 1L << cell;
+    }
+}
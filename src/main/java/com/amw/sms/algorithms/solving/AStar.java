@@ -0,0 +1,193 @@
+package com.amw.sms.algorithms.solving;
+
+import java.util.Arrays;
+
+import com.amw.sms.grid.MazeGrid;
+import com.amw.sms.util.BufferPool;
+import com.amw.sms.util.IntMinHeap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * A* search. Cells are expanded in order of their distance from the start plus the Manhattan distance between
+ * their row and column and the end cell's, which can never overestimate the remaining path since every step moves
+ * one row or one column. Ties are broken in favor of cells closer to the end. In mazes with loops, e.g. after
+ * braiding, the search heads towards the end instead of flooding every direction like
+ * {@link com.amw.sms.algorithms.Dijkstra}.
+ *
+ * The open set is an {@link IntMinHeap} of cell indexes. It and the scores and parents of the cells are scratch
+ * buffers reused across calls (see {@link BufferPool}): kept per thread for grids of up to {@value #RETAINED_CELLS}
+ * cells and shared by all threads for larger ones. Visited cells are marked with a stamp that changes every search,
+ * so a search only touches the cells it visits.
+ */
+@Component
+public class AStar extends MazeSolveAlgorithm {
+    //Largest grid, in cells, whose search buffers are kept per thread (about 28 bytes per cell, i.e. 1.75 MiB)
+    private static final int RETAINED_CELLS = 1 << 16;
+
+    //Number of buffers for larger grids kept for reuse by all threads
+    private static final int SHARED_BUFFERS = 2;
+
+    private static final BufferPool<SearchBuffers> BUFFERS =
+        new BufferPool<>(RETAINED_CELLS, SHARED_BUFFERS, SearchBuffers::new);
+
+    @Override
+    public int[] getSolution(final MazeGrid grid, final int startIndex, final int endIndex){
+        final var cellCount = grid.getCellCount();
+        final var buffers = BUFFERS.acquire(cellCount);
+        try{
+            buffers.begin(cellCount);
+            return this.search(grid, startIndex, endIndex, buffers);
+        }
+        finally{
+            //The open set has to be empty before the buffers are used by another search
+            buffers.open.clear();
+            BUFFERS.release(buffers, cellCount);
+        }
+    }
+
+    /**
+     * Returns the number of search buffers created so far.
+     * @return Number of created buffers.
+     */
+    static long getCreatedBuffers(){
+        return BUFFERS.getCreatedCount();
+    }
+
+    /**
+     * Runs the search from the start cell until the end cell is expanded.
+     * @param grid Grid being searched.
+     * @param startIndex Index of the start cell.
+     * @param endIndex Index of the end cell.
+     * @param buffers Scratch buffers, begun for the grid.
+     * @return Path of cells from the start cell to the end cell, or an empty array if there is none.
+     */
+    private int[] search(final MazeGrid grid, final int startIndex, final int endIndex, final SearchBuffers buffers){
+        final var open = buffers.open;
+        final var seen = buffers.stamp;
+        final var closed = buffers.stamp + 1;
+        final var endRow = grid.rowOf(endIndex);
+        final var endColumn = grid.columnOf(endIndex);
+        final var linksOnlyNeighbors = grid.linksOnlyNeighbors();
+
+        buffers.visit(startIndex, seen, 0, MazeGrid.NO_CELL);
+        open.offer(startIndex, this.priority(0, grid, startIndex, endRow, endColumn));
+
+        while(!open.isEmpty()){
+            final var current = open.poll();
+            if(current == endIndex){
+                return this.getPath(buffers, endIndex);
+            }
+            buffers.marks[current] = closed;
+
+            final var nextDistance = buffers.distances[current] + 1;
+            final var links = linksOnlyNeighbors ? buffers.links : buffers.linksOf(grid, current);
+            final var linkCount = grid.getLinks(current, links);
+            for(var i = 0; i < linkCount; i++){
+                final var linkedCell = links[i];
+                final var mark = buffers.marks[linkedCell];
+
+                //The heuristic is consistent, so closed cells already have their shortest distance
+                if(mark == closed) continue;
+                if(mark == seen && buffers.distances[linkedCell] <= nextDistance) continue;
+
+                buffers.visit(linkedCell, seen, nextDistance, current);
+                open.offer(linkedCell, this.priority(nextDistance, grid, linkedCell, endRow, endColumn));
+            }
+        }
+
+        //NO PATH BETWEEN CELLS
+        return new int[0];
+    }
+
+    /**
+     * Returns the priority of a cell in the open set. The estimated length of the path through the cell is in the
+     * high half, and the estimated distance left to the end breaks ties in the low half.
+     * @param distance Distance of the cell from the start.
+     * @param grid Grid containing the cell.
+     * @param index Index of the cell.
+     * @param endRow Row of the end cell.
+     * @param endColumn Column of the end cell.
+     * @return The priority. Lower priorities are expanded first.
+     */
+    private long priority(final int distance, final MazeGrid grid, final int index, final int endRow, final int endColumn){
+        final var remaining = Math.abs(grid.rowOf(index) - endRow) + Math.abs(grid.columnOf(index) - endColumn);
+        return ((long) (distance + remaining) << Integer.SIZE) | remaining;
+    }
+
+    /**
+     * Returns the path of cells from the start cell to the provided end cell, by following the parents back.
+     * @param buffers Buffers containing the distances and parents of the search.
+     * @param endIndex Index of the end cell.
+     * @return Path of cells from the start cell to the end cell.
+     */
+    private int[] getPath(final SearchBuffers buffers, final int endIndex){
+        final var path = new int[buffers.distances[endIndex] + 1];
+        var currentCell = endIndex;
+        for(var step = path.length - 1; step >= 0; step--){
+            path[step] = currentCell;
+            currentCell = buffers.parents[currentCell];
+        }
+        return path;
+    }
+
+    /**
+     * Scratch buffers used by one search at a time.
+     */
+    private static final class SearchBuffers {
+        private IntMinHeap open = new IntMinHeap(0);
+        private int[] marks = new int[0];
+        private int[] distances = new int[0];
+        private int[] parents = new int[0];
+        private int[] links = new int[MazeGrid.MAX_NEIGHBORS];
+
+        //Marks of the current search are stamp (seen) and stamp + 1 (closed)
+        private int stamp = 0;
+
+        /**
+         * Starts a new search, growing the buffers so that they can hold the provided number of cells.
+         * @param cellCount Number of cells in the grid being searched.
+         */
+        private void begin(int cellCount){
+            if(this.marks.length < cellCount){
+                this.open = new IntMinHeap(cellCount);
+                this.marks = new int[cellCount];
+                this.distances = new int[cellCount];
+                this.parents = new int[cellCount];
+            }
+            if(this.stamp >= Integer.MAX_VALUE - 2){
+                Arrays.fill(this.marks, 0);
+                this.stamp = 0;
+            }
+            this.stamp += 2;
+        }
+
+        /**
+         * Records the shortest distance found so far to a cell.
+         * @param index Index of the cell.
+         * @param mark Mark of the cell.
+         * @param distance Distance of the cell from the start.
+         * @param parent Cell it was reached from.
+         */
+        private void visit(int index, int mark, int distance, int parent){
+            this.marks[index] = mark;
+            this.distances[index] = distance;
+            this.parents[index] = parent;
+        }
+
+        /**
+         * Returns a buffer large enough to hold all of the links of the provided cell. Only needed for grids that
+         * can link cells other than neighbors, since the buffer always holds {@link MazeGrid#MAX_NEIGHBORS} links.
+         * @param grid Grid containing the cell.
+         * @param index Index of the cell.
+         * @return The links buffer.
+         */
+        private int[] linksOf(MazeGrid grid, int index){
+            final var degree = grid.degree(index);
+            if(this.links.length < degree){
+                this.links = new int[degree];
+            }
+            return this.links;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.amw.sms.algorithms.solving;
+
+import java.util.Arrays;
+
+import com.amw.sms.grid.MazeGrid;
+import com.amw.sms.util.BufferPool;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bidirectional breadth-first search. Searches from the start and the end cell at the same time, one level at a
+ * time and always on the side with the smaller frontier, and stops as soon as the two searches meet. Unlike
+ * flooding the whole grid from the start, only the cells within about half the path's length of either goal are
+ * visited, which is far fewer on large grids when the goals are not at opposite ends of the maze.
+ *
+ * Like {@link com.amw.sms.algorithms.Dijkstra}, the search keeps its state in int arrays that are scratch buffers
+ * reused across calls (see {@link BufferPool}): kept per thread for grids of up to {@value #RETAINED_CELLS} cells and
+ * shared by all threads for larger ones. Visited cells are marked with a stamp that changes every search, so the
+ * buffers never have to be cleared and a search only touches the cells it visits.
+ */
+@Component
+public class BidirectionalSearch extends MazeSolveAlgorithm {
+    //Largest grid, in cells, whose search buffers are kept per thread (four int arrays, i.e. 1 MiB)
+    private static final int RETAINED_CELLS = 1 << 16;
+
+    //Number of buffers for larger grids kept for reuse by all threads
+    private static final int SHARED_BUFFERS = 2;
+
+    private static final BufferPool<SearchBuffers> BUFFERS =
+        new BufferPool<>(RETAINED_CELLS, SHARED_BUFFERS, SearchBuffers::new);
+
+    @Override
+    public int[] getSolution(final MazeGrid grid, final int startIndex, final int endIndex){
+        if(startIndex == endIndex){
+            return new int[]{ startIndex };
+        }
+
+        final var cellCount = grid.getCellCount();
+        final var buffers = BUFFERS.acquire(cellCount);
+        try{
+            buffers.begin(cellCount);
+            return this.search(grid, startIndex, endIndex, buffers);
+        } finally {
+            BUFFERS.release(buffers, cellCount);
+        }
+    }
+
+    /**
+     * Returns the number of search buffers created so far.
+     * @return Number of created buffers.
+     */
+    static long getCreatedBuffers(){
+        return BUFFERS.getCreatedCount();
+    }
+
+    /**
+     * Runs the search from both cells.
+     * @param grid Grid being searched.
+     * @param startIndex Index of the start cell.
+     * @param endIndex Index of the end cell.
+     * @param buffers Scratch buffers, begun for the grid.
+     * @return Path of cells from the start cell to the end cell, or an empty array if there is none.
+     */
+    private int[] search(final MazeGrid grid, final int startIndex, final int endIndex, final SearchBuffers buffers){
+        final var fromStart = buffers.stamp;
+        final var fromEnd = buffers.stamp + 1;
+
+        //The start side fills the frontier buffer from the front and the end side from the back. Every cell is
+        //visited by at most one side, so they never overlap.
+        final var frontier = buffers.frontier;
+        var startHead = 0;
+        var startTail = 0;
+        var endHead = frontier.length - 1;
+        var endTail = frontier.length - 1;
+        buffers.visit(startIndex, fromStart, 0, MazeGrid.NO_CELL);
+        frontier[startTail++] = startIndex;
+        buffers.visit(endIndex, fromEnd, 0, MazeGrid.NO_CELL);
+        frontier[endTail--] = endIndex;
+
+        while(startHead < startTail && endHead > endTail){
+            final var expandStart = startTail - startHead <= endHead - endTail;
+            final var meeting = expandStart
+                ?   this.expandLevel(grid, buffers, fromStart, fromEnd, startHead, startTail, 1)
+                :   this.expandLevel(grid, buffers, fromEnd, fromStart, endHead, endTail, -1);
+            if(meeting != null){
+                return expandStart
+                    ?   this.getPath(buffers, meeting[0], meeting[1])
+                    :   this.getPath(buffers, meeting[1], meeting[0]);
+            }
+
+            if(expandStart){
+                startHead = startTail;
+                startTail = buffers.levelEnd;
+            }
+            else{
+                endHead = endTail;
+                endTail = buffers.levelEnd;
+            }
+        }
+
+        //NO PATH BETWEEN CELLS
+        return new int[0];
+    }
+
+    /**
+     * Visits every unvisited cell linked to the current level of one side's frontier. The whole level is expanded
+     * even after the sides meet, since a later cell of the level may meet the other side closer to its goal.
+     * @param grid Grid being searched.
+     * @param buffers Scratch buffers of the search.
+     * @param side Mark of the side being expanded.
+     * @param otherSide Mark of the other side.
+     * @param head Position of the first cell of the level in the frontier.
+     * @param tail Position just past the last cell of the level, in the direction the side grows in.
+     * @param step Direction the side's frontier grows in: 1 for the start side, -1 for the end side.
+     * @return The linked pair of cells where the sides meet with the shortest path, the expanded side's cell first.
+     * Null if the sides have not met. When the sides have not met, the end of the next level is left in the buffers.
+     */
+    private int[] expandLevel(final MazeGrid grid, final SearchBuffers buffers, final int side, final int otherSide,
+            final int head, final int tail, final int step){
+        final var frontier = buffers.frontier;
+        final var linksOnlyNeighbors = grid.linksOnlyNeighbors();
+        int[] meeting = null;
+        var meetingDistance = Integer.MAX_VALUE;
+        var next = tail;
+
+        for(var position = head; position != tail; position += step){
+            final var frontierCell = frontier[position];
+            final var nextDistance = buffers.distances[frontierCell] + 1;
+            final var links = linksOnlyNeighbors ? buffers.links : buffers.linksOf(grid, frontierCell);
+            final var linkCount = grid.getLinks(frontierCell, links);
+
+            for(var i = 0; i < linkCount; i++){
+                final var linkedCell = links[i];
+                final var mark = buffers.marks[linkedCell];
+                if(mark == otherSide){
+                    if(buffers.distances[linkedCell] < meetingDistance){
+                        meetingDistance = buffers.distances[linkedCell];
+                        meeting = new int[]{ frontierCell, linkedCell };
+                    }
+                }
+                else if(mark != side){
+                    buffers.visit(linkedCell, side, nextDistance, frontierCell);
+                    frontier[next] = linkedCell;
+                    next += step;
+                }
+            }
+        }
+
+        buffers.levelEnd = next;
+        return meeting;
+    }
+
+    /**
+     * Returns the path through the cells where the sides met.
+     * @param buffers Buffers containing the distances and parents of the search.
+     * @param startSideCell Meeting cell visited from the start.
+     * @param endSideCell Meeting cell visited from the end.
+     * @return Path of cells from the start cell to the end cell.
+     */
+    private int[] getPath(final SearchBuffers buffers, final int startSideCell, final int endSideCell){
+        final var startLength = buffers.distances[startSideCell] + 1;
+        final var path = new int[startLength + buffers.distances[endSideCell] + 1];
+
+        var currentCell = startSideCell;
+        for(var step = startLength - 1; step >= 0; step--){
+            path[step] = currentCell;
+            currentCell = buffers.parents[currentCell];
+        }
+        currentCell = endSideCell;
+        for(var step = startLength; step < path.length; step++){
+            path[step] = currentCell;
+            currentCell = buffers.parents[currentCell];
+        }
+
+        return path;
+    }
+
+    /**
+     * Scratch buffers used by one search at a time.
+     */
+    private static final class SearchBuffers {
+        private int[] marks = new int[0];
+        private int[] distances = new int[0];
+        private int[] parents = new int[0];
+        private int[] frontier = new int[0];
+        private int[] links = new int[MazeGrid.MAX_NEIGHBORS];
+
+        //Marks of the current search are stamp (visited from the start) and stamp + 1 (visited from the end)
+        private int stamp = 0;
+        private int levelEnd;
+
+        /**
+         * Starts a new search, growing the buffers so that they can hold the provided number of cells.
+         * @param cellCount Number of cells in the grid being searched.
+         */
+        private void begin(int cellCount){
+            if(this.marks.length < cellCount){
+                this.marks = new int[cellCount];
+                this.distances = new int[cellCount];
+                this.parents = new int[cellCount];
+                this.frontier = new int[cellCount];
+            }
+            if(this.stamp >= Integer.MAX_VALUE - 2){
+                Arrays.fill(this.marks, 0);
+                this.stamp = 0;
+            }
+            this.stamp += 2;
+        }
+
+        /**
+         * Marks cell as visited by one side.
+         * @param index Index of the cell.
+         * @param side Mark of the side.
+         * @param distance Distance of the cell from the side's goal.
+         * @param parent Cell it was reached from, one step closer to the side's goal.
+         */
+        private void visit(int index, int side, int distance, int parent){
+            this.marks[index] = side;
+            this.distances[index] = distance;
+            this.parents[index] = parent;
+        }
+
+        /**
+         * Returns a buffer large enough to hold all of the links of the provided cell. Only needed for grids that
+         * can link cells other than neighbors, since the buffer always holds {@link MazeGrid#MAX_NEIGHBORS} links.
+         * @param grid Grid containing the cell.
+         * @param index Index of the cell.
+         * @return The links buffer.
+         */
+        private int[] linksOf(MazeGrid grid, int index){
+            final var degree = grid.degree(index);
+            if(this.links.length < degree){
+                this.links = new int[degree];
+            }
+            return this.links;
+        }
+    }
+}
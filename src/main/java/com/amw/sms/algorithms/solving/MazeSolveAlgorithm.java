@@ -1,14 +1,26 @@
 package com.amw.sms.algorithms.solving;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.amw.sms.grid.Cell;
+import com.amw.sms.grid.MazeGrid;
 import com.amw.sms.mazes.Maze;
 
 /**
  * Interface for all maze-solving algorithms.
  */
 public abstract class MazeSolveAlgorithm {
+    /**
+     * Returns the path of cells between two cells of a grid. This path includes both cells.
+     * @param grid Grid to solve.
+     * @param startIndex Index of the cell the path starts at.
+     * @param endIndex Index of the cell the path ends at.
+     * @return Indexes of the cells on the path. The array starts with the start cell and ends with the end cell.
+     * If there exists no path between the two cells, then an empty array is returned.
+     */
+    public abstract int[] getSolution(MazeGrid grid, int startIndex, int endIndex);
+
     /**
      * Returns the path of cells between the start and end entrances of the maze. 
      * This path includes both entrance cells. 
@@ -18,7 +30,25 @@ public abstract class MazeSolveAlgorithm {
      * If the maze has no entrances, an empty list is returned. 
      * If there exists no path between the two cells, then an empty list is returned.
      */
-    public abstract List<Cell> getSolution(Maze maze);
+    public List<Cell> getSolution(Maze maze){
+        final var grid = maze.getGrid();
+
+        return Arrays.stream(this.getSolutionIndexes(maze))
+            .mapToObj(grid::cellAt)
+            .toList();
+    }
+
+    /**
+     * Returns the path of cells between the start and end entrances of the maze, as cell indexes.
+     * This path includes both entrance cells.
+     * @param maze Maze to solve.
+     * @return Indexes of the cells on the path. The array starts with the start cell and ends with the end cell.
+     * If there exists no path between the two cells, then an empty array is returned.
+     */
+    public int[] getSolutionIndexes(Maze maze){
+        final var grid = maze.getGrid();
+        return this.getSolution(grid, grid.indexOf(maze.getStartCell()), grid.indexOf(maze.getEndCell()));
+    }
 
     /**
      * Solves the maze. This maze will be updated internally with this solution such that, for instance,
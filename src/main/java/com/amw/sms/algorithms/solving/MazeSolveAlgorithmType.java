@@ -0,0 +1,10 @@
+package com.amw.sms.algorithms.solving;
+
+/**
+ * The different types of maze-solving algorithms.
+ */
+public enum MazeSolveAlgorithmType {
+    DIJKSTRA,
+    BIDIRECTIONAL_BFS,
+    A_STAR
+}
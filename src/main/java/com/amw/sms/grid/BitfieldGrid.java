@@ -0,0 +1,225 @@
+package com.amw.sms.grid;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BitfieldGrid class. Compact alternative to Grid intended for very large mazes.
+ *
+ * Instead of a List of List of Cells, where every cell carries its own set of links and its
+ * neighbors, the whole grid is stored as one packed array of bits. Cells are addressed by their
+ * index, i.e. row * columnCount + column. Since links only ever exist between neighboring cells,
+ * each cell only needs to record two of them: its link to its eastern neighbor and its link to
+ * its southern neighbor. Its northern and western links are stored by the northern and western
+ * neighbors respectively. This brings the cost of a cell down to 2 bits.
+ *
+ * Links are written using atomic bitwise operations, so distinct links can safely be created or
+ * removed from multiple threads at the same time, even when the cells share the same word.
+ */
+public class BitfieldGrid extends PackedLinkGrid {
+    /**
+     * Number of cells whose links are stored in each word of the packed array.
+     * @see BitfieldGrid#setLinkWord
+     */
+    public static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] links;
+    private final LongAdder modificationCount = new LongAdder();
+
+    /**
+     * Constructs a grid with the provided number of rows and columns.
+     * Initializes grid with all unlinked cells.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @throws IllegalArgumentException If either dimension is not positive or if the grid would
+     * contain more cells than can be addressed by an int index.
+     */
+    public BitfieldGrid(int rowCount, int colCount){
+        super(rowCount, colCount);
+        this.links = new long[(this.getCellCount() + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException If the cells are not neighbors. Only neighboring cells can be
+     * linked in a bitfield grid.
+     */
+    @Override
+    public void link(int cell1, int cell2){
+        final var bit = this.linkBit(cell1, cell2);
+        final var mask = 1L << bit;
+        final var previous = (long) WORDS.getAndBitwiseOr(this.links, (int) (bit / Long.SIZE), mask);
+        if((previous & mask) == 0){
+            this.linkChanged(cell1, cell2, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException If the cells are not neighbors.
+     */
+    @Override
+    public void unlink(int cell1, int cell2){
+        final var bit = this.linkBit(cell1, cell2);
+        final var mask = 1L << bit;
+        final var previous = (long) WORDS.getAndBitwiseAnd(this.links, (int) (bit / Long.SIZE), ~mask);
+        if((previous & mask) != 0){
+            this.linkChanged(cell1, cell2, false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Links are written with atomic bitwise operations, so this is always true.
+     */
+    @Override
+    public boolean supportsConcurrentLinking(){
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Replacing a whole word counts as a single change, although change listeners are told about each link
+     * that it added or removed. The count is a {@link LongAdder}, so threads linking cells concurrently neither
+     * lose each other's changes nor contend on a single counter. It only ever grows, so a count recorded before a
+     * change is never seen again afterwards.
+     */
+    @Override
+    public long getModificationCount(){
+        return this.modificationCount.sum();
+    }
+
+    /**
+     * Returns the number of words in the packed array of links.
+     * @return Number of words.
+     * @see BitfieldGrid#setLinkWord
+     */
+    public int getWordCount(){
+        return this.links.length;
+    }
+
+    /**
+     * Returns the links stored in a word of the packed array, in the layout described by {@link BitfieldGrid#setLinkWord}.
+     * @param word Index of the word.
+     * @return Link bits of the word's cells.
+     */
+    public long getLinkWord(int word){
+        return this.links[word];
+    }
+
+    /**
+     * Replaces the links stored in a word of the packed array. This lets algorithms that decide the links of many
+     * cells at once write them in bulk, rather than linking each pair of cells separately.
+     *
+     * The word stores the links of the cells from word * {@link BitfieldGrid#CELLS_PER_WORD} onwards. For the i-th of
+     * those cells, bit 2i is its link to its eastern neighbor and bit 2i + 1 is its link to its southern neighbor.
+     *
+     * Unlike {@link BitfieldGrid#link}, this is not atomic with respect to other changes to the same word, so no
+     * other thread should change the links stored by the word at the same time.
+     * @param word Index of the word.
+     * @param bits Link bits of the word's cells.
+     * @throws IllegalArgumentException If a bit links a cell to a neighbor that does not exist.
+     */
+    public void setLinkWord(int word, long bits){
+        final var firstCell = word * CELLS_PER_WORD;
+        for(var remaining = bits; remaining != 0; remaining &= remaining - 1){
+            final var bit = Long.numberOfTrailingZeros(remaining);
+            final var cell = firstCell + bit / BITS_PER_CELL;
+            final var neighbor = (bit % BITS_PER_CELL == 0) ? this.east(cell) : this.south(cell);
+            if(cell >= this.getCellCount() || neighbor == NO_CELL){
+                throw new IllegalArgumentException("Bit %s of word %s links to a cell outside of the grid"
+                    .formatted(bit, word));
+            }
+        }
+        this.replaceLinkWord(word, bits);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The links are written a word at a time, as with {@link BitfieldGrid#setLinkWord}, so no other thread should
+     * change the grid's links at the same time.
+     */
+    @Override
+    public void linkAll(){
+        final var cellCount = this.getCellCount();
+        final var colCount = this.getColumnCount();
+        for(var word = 0; word < this.links.length; word++){
+            final var firstCell = word * CELLS_PER_WORD;
+            final var endCell = Math.min(firstCell + CELLS_PER_WORD, cellCount);
+            var column = firstCell % colCount;
+            var bits = 0L;
+            for(var cell = firstCell; cell < endCell; cell++){
+                final var shift = (cell - firstCell) * BITS_PER_CELL;
+                if(column < colCount - 1)           bits |= (long) EAST_LINK << shift;
+                if(cell < cellCount - colCount)     bits |= (long) SOUTH_LINK << shift;
+                if(++column == colCount)            column = 0;
+            }
+            this.replaceLinkWord(word, bits);
+        }
+    }
+
+    /**
+     * Replaces the links stored in a word of the packed array, without checking that they link neighboring cells.
+     * @param word Index of the word.
+     * @param bits Link bits of the word's cells.
+     */
+    private void replaceLinkWord(int word, long bits){
+        final var firstCell = word * CELLS_PER_WORD;
+        final var previous = this.links[word];
+        this.links[word] = bits;
+        if(previous == bits){
+            return;
+        }
+
+        this.modificationCount.increment();
+        if(this.hasChangeListeners()){
+            for(var changed = previous ^ bits; changed != 0; changed &= changed - 1){
+                final var bit = Long.numberOfTrailingZeros(changed);
+                final var cell = firstCell + bit / BITS_PER_CELL;
+                final var neighbor = (bit % BITS_PER_CELL == 0) ? this.east(cell) : this.south(cell);
+                this.fireLinkChanged(cell, neighbor, (bits & (1L << bit)) != 0);
+            }
+        }
+    }
+
+    /**
+     * Records that two cells were linked or unlinked, telling the change listeners.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     * @param linked true if the cells were linked; false if they were unlinked.
+     */
+    private void linkChanged(int cell1, int cell2, boolean linked){
+        this.modificationCount.increment();
+        if(this.hasChangeListeners()){
+            this.fireLinkChanged(cell1, cell2, linked);
+        }
+    }
+
+    @Override
+    protected int linkBits(int index){
+        final var word = this.links[index / CELLS_PER_WORD];
+        return (int) (word >>> ((index % CELLS_PER_WORD) * BITS_PER_CELL)) & (EAST_LINK | SOUTH_LINK);
+    }
+
+    /**
+     * Returns the position of the bit that stores the link between two cells.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     * @return Position of the bit within the packed array.
+     * @throws IllegalArgumentException If the cells are not neighbors.
+     */
+    private long linkBit(int cell1, int cell2){
+        final var first = Math.min(cell1, cell2);
+        final var second = Math.max(cell1, cell2);
+
+        final int link;
+        if(first != NO_CELL && second == this.east(first))          link = 0;
+        else if(first != NO_CELL && second == this.south(first))    link = 1;
+        else throw new IllegalArgumentException("Cells %s and %s are not neighbors".formatted(cell1, cell2));
+
+        return (long) first * BITS_PER_CELL + link;
+    }
+}
@@ -18,6 +18,7 @@ public class Cell {
     private final int rowPos, colPos;
     private final Set<Cell> links;
     private Optional<Cell> north, east, south, west;
+    private Optional<Grid> grid = Optional.empty();
 
     /**
      * Constructs new cell with the provided position in the containing grid.
@@ -54,11 +55,12 @@ public class Cell {
      * Method is needed since both cells must be updated separately.
      */
     private void link(Cell cell, boolean bidi){
-        this.links.add(cell);
+        final var added = this.links.add(cell);
 
         //Make sure provided cell's links are also updated
         if(bidi){
             cell.link(this, false);
+            if(added) this.grid.ifPresent((var grid) -> grid.linkChanged(this, cell, true));
         }
     }
 
@@ -80,14 +82,23 @@ public class Cell {
      * Method is needed since both cells must be updated separately.
      */
     private void unlink(Cell cell, boolean bidi){
-        this.links.remove(cell);
+        final var removed = this.links.remove(cell);
 
         //Make sure provided cell's links are also updated
         if(bidi){
             cell.unlink(this, false);
+            if(removed) this.grid.ifPresent((var grid) -> grid.linkChanged(this, cell, false));
         }
     }
 
+    /**
+     * Sets the grid containing this cell, which is told whenever the cell's links change.
+     * @param grid The containing grid.
+     */
+    void setGrid(Grid grid){
+        this.grid = Optional.of(grid);
+    }
+
     /**
      * Returns set of all of the cells that this cell is linked to.
      * @return Set of linked Cells.
@@ -1,18 +1,63 @@
 package com.amw.sms.grid;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Contains the distances between the cells on the grid and a specified root-cell. 
+ * Contains the distances between the cells on the grid and a specified root-cell.
  * Note that these distances do not have to be the same as the number of steps in a path from a cell to the root.
  * A step between any two cells may have different weights (e.g. Cell A and B may be connected but could have a distance of 10).
  * Distances may not be set for specific cells, such as those that do not have a path connecting them to the root cell.
+ *
+ * Distances are stored per cell index, so they can be recorded for any MazeGrid. Methods that take or return Cell
+ * objects are provided for convenience; those returning cells require the grid to be a {@link Grid}.
  */
 public class CellDistances extends GridData {
-    private final Cell rootCell;
-    private final Map<Cell, Integer> distances;
+    private static final int UNSET = -1;
+
+    private final int rootIndex;
+    private final int[] distances;
+    private final boolean readOnly;
+
+    /**
+     * Constructs CellDistances instance for specified grid and root-cell.
+     * @param grid Grid for which this data is for.
+     * @param rootIndex Index of the root cell that these distances are all relative to.
+     */
+    public CellDistances(MazeGrid grid, int rootIndex){
+        super(grid);
+        this.rootIndex = rootIndex;
+        this.distances = new int[grid.getCellCount()];
+        Arrays.fill(this.distances, UNSET);
+        this.distances[rootIndex] = 0;
+        this.readOnly = false;
+    }
+
+    /**
+     * Constructs CellDistances instance for specified grid and root-cell, using already computed distances.
+     * @param grid Grid for which this data is for.
+     * @param rootIndex Index of the root cell that these distances are all relative to.
+     * @param distances Distance of each cell, by index, with -1 for cells that have no distance set. Only the
+     * first {@link MazeGrid#getCellCount} values are used and they are copied, so the array can be reused.
+     */
+    public CellDistances(MazeGrid grid, int rootIndex, int[] distances){
+        super(grid);
+        this.rootIndex = rootIndex;
+        this.distances = Arrays.copyOf(distances, grid.getCellCount());
+        this.readOnly = false;
+    }
+
+    /**
+     * Constructs read-only view of other distances, sharing their values.
+     * @param distances Distances to view.
+     */
+    private CellDistances(CellDistances distances){
+        super(distances.getGrid());
+        this.rootIndex = distances.rootIndex;
+        this.distances = distances.distances;
+        this.readOnly = true;
+    }
 
     /**
      * Constructs CellDistances instance for specified grid and root-cell.
@@ -20,82 +65,224 @@ public class CellDistances extends GridData {
      * @param rootCell Root cell that these distances are all relative to.
      */
     public CellDistances(Grid grid, Cell rootCell){
-        super(grid);
-        this.rootCell = rootCell;
-        this.distances = new HashMap<Cell, Integer>();
-        this.distances.put(rootCell, 0);
+        this(grid, grid.indexOf(rootCell));
+    }
+
+    /**
+     * Returns a read-only view of these distances, e.g. to share them between callers that must not change them
+     * for each other. The view still reflects any changes made through these distances.
+     * @return Read-only view of the distances. These distances themselves if they are already read-only.
+     */
+    public CellDistances asReadOnly(){
+        return this.readOnly ? this : new CellDistances(this);
+    }
+
+    /**
+     * Indicates whether the distances can be changed through {@link CellDistances#setDistance}.
+     * @return true if the distances are read-only.
+     */
+    public boolean isReadOnly(){
+        return this.readOnly;
+    }
+
+    /**
+     * Set distance for specified cell.
+     * @param index Index of the cell in the grid.
+     * @param distance Distance between the provided cell and the set root-cell.
+     * @throws UnsupportedOperationException If the distances are read-only.
+     */
+    public void setDistance(int index, int distance){
+        if(this.readOnly){
+            throw new UnsupportedOperationException("Distances are read-only");
+        }
+        this.distances[index] = distance;
     }
 
     /**
      * Set distances for specified cell.
      * @param cell Cell in the grid.
      * @param distance Distance between the provided cell and the set root-cell.
+     * @throws UnsupportedOperationException If the distances are read-only.
      */
     public void setDistance(Cell cell, int distance){
-        this.distances.put(cell, distance);
+        this.setDistance(this.indexOf(cell), distance);
+    }
+
+    /**
+     * Get distance set for specified cell.
+     * @param index Index of the cell in the grid.
+     * @return Distance between the specified cell and the root cell. If unset, returns -1.
+     * An unset cell means that the cell has no path connecting it to the root cell.
+     */
+    public int getDistance(int index){
+        return this.distances[index];
     }
 
     /**
      * Get distance set for specified cell.
      * @param cell Cell in the grid.
      * @return Distance between the specified cell and the root cell. If unset, returns -1.
-     * An unset cell means that the cell has no path connecting it to the root cell. 
+     * An unset cell means that the cell has no path connecting it to the root cell.
      * Use {@link CellDistances#isDistanceSet} when checking to see if a cell is unset or not.
      */
     public int getDistance(Cell cell){
         return this.isDistanceSet(cell)
-            ?   this.distances.get(cell)
-            :   -1;
+            ?   this.distances[this.indexOf(cell)]
+            :   UNSET;
+    }
+
+    /**
+     * Returns true/false whether the cell's distance from the root cell is set or not.
+     * @param index Index of the cell in the grid.
+     * @return True if a distance has been set for the provided cell. False otherwise.
+     */
+    public boolean isDistanceSet(int index){
+        return this.distances[index] != UNSET;
     }
 
     /**
      * Returns true/false whether the cell's distance from the root cell is set or not.
      * @param cell Cell in the grid.
-     * @return True if a distance has been set for the provided cell. False otherwise. 
+     * @return True if a distance has been set for the provided cell. False otherwise.
      * An unset cell means that the cell has no path connecting it to the root cell.
      */
     public boolean isDistanceSet(Cell cell){
-        return this.distances.containsKey(cell);
+        final var index = this.indexOf(cell);
+        return index != MazeGrid.NO_CELL && this.isDistanceSet(index);
     }
 
     /**
-     * Get all Cells whose distances from the root are recorded.
+     * Get all Cells whose distances from the root are recorded. Requires the grid to be a {@link Grid}.
      * @return Cells whose distances are set.
      */
     public Set<Cell> getCells(){
-        return this.distances.keySet();
+        final var cells = new HashSet<Cell>();
+        for(var index = 0; index < this.distances.length; index++){
+            if(this.isDistanceSet(index)){
+                cells.add(this.cellAt(index));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the index of the cell with the largest distance from the root cell.
+     * This does not consider cells that are not connected to the root. Ties are broken
+     * by choosing the cell with the lowest index.
+     * @return Index of the cell furthest away from the root cell.
+     */
+    public int getFurthestIndex(){
+        var furthestIndex = this.rootIndex;
+        for(var index = 0; index < this.distances.length; index++){
+            if(this.distances[index] > this.distances[furthestIndex]){
+                furthestIndex = index;
+            }
+        }
+        return furthestIndex;
     }
 
     /**
-     * Returns the cell with the largest distance from the root cell. 
+     * Returns the cell with the largest distance from the root cell.
      * This does not consider cells that are not connected to the root.
+     * Requires the grid to be a {@link Grid}.
      * @return Cell furthest away from the root cell.
      */
     public Cell getFurthestCell(){
-        return this.distances.entrySet()
-            .stream()
-            .max((var entry1, var entry2) -> entry1.getValue() - entry2.getValue())
-            .get()
-            .getKey();
+        return this.cellAt(this.getFurthestIndex());
+    }
+
+    /**
+     * Returns the path of cells from the root cell to the provided cell, by walking back from the cell through
+     * linked cells that are each one step closer to the root. Assumes every link has a distance of one, as in
+     * the distances computed by {@link com.amw.sms.algorithms.Dijkstra}.
+     * @param index Index of the cell to find a path to.
+     * @return Indexes of the cells on the path, starting with the root cell and ending with the provided cell.
+     * If the cell has no distance set, or the distances no longer match the grid's links so that some cell on the
+     * way has no linked cell one step closer to the root, an empty array is returned.
+     */
+    public int[] getPathTo(int index){
+        if(!this.isDistanceSet(index)){
+            return new int[0];
+        }
+
+        final var grid = this.getGrid();
+        var links = new int[MazeGrid.MAX_NEIGHBORS];
+        final var path = new int[this.distances[index] + 1];
+        var currentCell = index;
+        for(var step = path.length - 1; step > 0; step--){
+            path[step] = currentCell;
+
+            if(links.length < grid.degree(currentCell)){
+                links = new int[grid.degree(currentCell)];
+            }
+            final var linkCount = grid.getLinks(currentCell, links);
+            final var previousCell = currentCell;
+            for(var i = 0; i < linkCount; i++){
+                if(this.distances[links[i]] == step - 1){
+                    currentCell = links[i];
+                    break;
+                }
+            }
+            if(currentCell == previousCell){
+                return new int[0];
+            }
+        }
+        if(currentCell != this.rootIndex){
+            return new int[0];
+        }
+        path[0] = currentCell;
+
+        return path;
+    }
+
+    /**
+     * Get the index of the root cell that these distances all correspond to.
+     * @return Index of the root cell.
+     */
+    public int getRootIndex(){
+        return this.rootIndex;
     }
 
     /**
      * Get the root cell that these distances all correspond to.
+     * Requires the grid to be a {@link Grid}.
      * @return The root cell.
      */
     public Cell getRootCell() {
-        return this.rootCell;
+        return this.cellAt(this.rootIndex);
     }
 
     /**
      * {@inheritDoc}
-     * If distance is unset, the cell's contents will be determined by the 
+     * If distance is unset, the cell's contents will be determined by the
      * {@link GridData} superclass.
      */
     @Override
     public String getCellContents(Cell cell){
         return this.isDistanceSet(cell)
-            ?   Integer.toString(this.distances.get(cell), 32).toUpperCase()
+            ?   Integer.toString(this.getDistance(cell), 32).toUpperCase()
             :   super.getCellContents(cell);
     }
+
+    /**
+     * Returns the index of a cell within the grid based on its position.
+     * @param cell Cell in the grid.
+     * @return Index of the cell.
+     */
+    private int indexOf(Cell cell){
+        return this.getGrid().indexOf(cell.getRowPosition(), cell.getColumnPosition());
+    }
+
+    /**
+     * Returns the Cell object with the provided index.
+     * @param index Index of the cell.
+     * @return The cell.
+     * @throws UnsupportedOperationException If the grid does not use Cell objects.
+     */
+    private Cell cellAt(int index){
+        if(this.getGrid() instanceof Grid grid){
+            return grid.cellAt(index);
+        }
+        throw new UnsupportedOperationException("Cells are only available for distances on a Grid");
+    }
 }
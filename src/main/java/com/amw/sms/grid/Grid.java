@@ -1,29 +1,35 @@
 package com.amw.sms.grid;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.random.RandomGenerator;
 
 import ij.ImagePlus;
-import ij.process.ByteProcessor;
-import ij.process.ImageProcessor;
 
 /**
  * Grid class. Used to represent mazes as a group of cells connected to eachother.
  * Provides methods for traversing and manipulating the cells and getting different
  * representations of the grid.
+ * Cells can also be addressed by their index through the {@link MazeGrid} interface.
  */
-public class Grid {
+public class Grid implements MazeGrid {
     private final int rowCount, colCount;
     private final List<List<Cell>> grid;
-    private final Random rng;
+    private RandomGenerator rng;
+    private long modificationCount = 0;
+    private final List<GridChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     private Optional<GridData> gridData;
     private boolean gridDataShown = true;
 
     private Optional<List<Cell>> path;
+    private Set<Cell> pathCells = Set.of();
     private boolean limitShownDataToPath = false;
 
     /**
@@ -37,7 +43,7 @@ public class Grid {
         this.colCount = colCount;
         this.grid = this.createInitialGrid();
         this.configureCells();
-        rng = new Random();
+        this.rng = new Random();
 
         this.gridData = Optional.empty();
         this.path = Optional.empty();
@@ -57,7 +63,9 @@ public class Grid {
 
             //Initialize each row with cells
             for(var colIndex = 0; colIndex < this.colCount; colIndex++){
-                row.add(new Cell(rowIndex, colIndex));
+                final var cell = new Cell(rowIndex, colIndex);
+                cell.setGrid(this);
+                row.add(cell);
             }
 
             grid.add(row);
@@ -99,11 +107,21 @@ public class Grid {
     /**
      * Returns a random cell from the grid.
      * @return Random cell from the grid.
+     * @see Grid#setRandomGenerator
      */
     public Cell getRandomCell(){
         return this.grid
-            .get(rng.nextInt(this.rowCount))
-            .get(rng.nextInt(this.colCount));
+            .get(this.rng.nextInt(this.rowCount))
+            .get(this.rng.nextInt(this.colCount));
+    }
+
+    /**
+     * Sets the random number generator used to pick random cells. By default, the grid uses its own
+     * unseeded generator; a seeded one makes the picked cells reproducible.
+     * @param rng Random number generator.
+     */
+    public void setRandomGenerator(RandomGenerator rng){
+        this.rng = rng;
     }
 
     public Cell getFirstCell(){
@@ -114,10 +132,7 @@ public class Grid {
         return this.grid.get(this.rowCount-1).get(this.colCount-1);
     }
 
-    /**
-     * Returns the total number of cells within the grid.
-     * @return The number of cells in the grid.
-     */
+    @Override
     public int getCellCount(){
         return this.rowCount * this.colCount;
     }
@@ -163,22 +178,106 @@ public class Grid {
             .toList();
     }
 
-    /**
-     * Returns the number of rows in the grid.
-     * @return The number of rows in the grid.
-     */
+    @Override
     public int getRowCount(){
         return this.rowCount;
     }
 
-    /**
-     * Returns the number of columns in the grid.
-     * @return The number of columns in the grid.
-     */
+    @Override
     public int getColumnCount(){
         return this.colCount;
     }
 
+    /**
+     * Returns the cell with the provided index.
+     * @param index Index of the cell.
+     * @return The cell.
+     * @see MazeGrid
+     */
+    public Cell cellAt(int index){
+        return this.grid
+            .get(index / this.colCount)
+            .get(index % this.colCount);
+    }
+
+    /**
+     * Returns the index of the provided cell.
+     * @param cell Cell within the grid.
+     * @return Index of the cell, or {@link MazeGrid#NO_CELL} if its position is outside of the grid.
+     * @see MazeGrid
+     */
+    public int indexOf(Cell cell){
+        return this.indexOf(cell.getRowPosition(), cell.getColumnPosition());
+    }
+
+    @Override
+    public void link(int cell1, int cell2){
+        this.cellAt(cell1).link(this.cellAt(cell2));
+    }
+
+    @Override
+    public void unlink(int cell1, int cell2){
+        this.cellAt(cell1).unlink(this.cellAt(cell2));
+    }
+
+    @Override
+    public boolean isLinked(int cell1, int cell2){
+        return this.cellAt(cell1).isLinkedTo(this.cellAt(cell2));
+    }
+
+    @Override
+    public int degree(int index){
+        return this.cellAt(index).getLinks().size();
+    }
+
+    @Override
+    public int getLinks(int index, int[] buffer){
+        var count = 0;
+        for(final var linkedCell : this.cellAt(index).getLinks()){
+            buffer[count++] = this.indexOf(linkedCell);
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Counts links changed through either the grid or its cells.
+     */
+    @Override
+    public long getModificationCount(){
+        return this.modificationCount;
+    }
+
+    @Override
+    public void addChangeListener(GridChangeListener listener){
+        this.changeListeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(GridChangeListener listener){
+        this.changeListeners.remove(listener);
+    }
+
+    /**
+     * Records that two of the grid's cells were linked or unlinked, telling the change listeners.
+     * @param cell1 First cell.
+     * @param cell2 Second cell.
+     * @param linked true if the cells were linked; false if they were unlinked.
+     */
+    void linkChanged(Cell cell1, Cell cell2, boolean linked){
+        this.modificationCount++;
+        if(this.changeListeners.isEmpty()){
+            return;
+        }
+
+        final var index1 = this.indexOf(cell1);
+        final var index2 = this.indexOf(cell2);
+        for(final var listener : this.changeListeners){
+            if(linked)  listener.linkAdded(index1, index2);
+            else        listener.linkRemoved(index1, index2);
+        }
+    }
+
     /**
      * Sets the grid's data.
      * @param gridData Data to associate with this grid and its cells.
@@ -220,10 +319,13 @@ public class Grid {
 
     /**
      * Sets the specific path of cells to display in the grid's visual representations. 
+     * The cells are also indexed in a set, so that checking whether a cell is on the path takes constant time
+     * and rendering a grid that only displays its path stays linear in the number of cells.
      * @param path
      */
     public void setPath(List<Cell> path){
         this.path = Optional.of(path);
+        this.pathCells = new HashSet<>(path);
     }
 
     /**
@@ -240,6 +342,7 @@ public class Grid {
      */
     public void clearPath(){
         this.path = Optional.empty();
+        this.pathCells = Set.of();
     }
 
     /**
@@ -265,7 +368,7 @@ public class Grid {
      * does not contain the cell.
      */
     private boolean pathContainsCell(Cell cell){
-        return this.path.isPresent() && this.path.get().contains(cell);
+        return this.pathCells.contains(cell);
     }
 
     /**
@@ -302,87 +405,25 @@ public class Grid {
      * @return String representation of the grid.
      */
     public String toString(){
-        //Top of the grid. The rest of the grid will be done row-by-row.
-        final var output = "+" + "---+".repeat(this.colCount) + "\n";
-
-        return this.getRows()
-                .stream()
-                .map(this::rowToString)
-                .map((var line) -> line + "\n")
-                .reduce(output, String::concat);
-    }
-
-    /**
-     * TODO - move all string logic to separate class, then bring it in here
-     * Returns the string representation of a given row of cells. This excludes the top of the row,
-     * since each row's bottom will act as the top of the following row. 
-     * @param row Row of cells.
-     * @return String representation of the row, excluding the top of the row.
-     */
-    private String rowToString(List<Cell> row){
-        final var MIDDLE_START = "|";
-        final var MIDDLE_BODY = " %s ";
-        final var BOTTOM_START = "+";
-
-        //Each row will be 3 lines - top, middle and bottom. Since the bottom
-        //of each row is the top of the following row, only the middle and bottom
-        //of each row needs to be created. 
-
-        //Create the string rep of a cell's middle section.
-        final Function<Cell, String> fromCellToMiddleStr = (var cell) -> {
-            final var eastChars = cell.getEast().isPresent() 
-                && cell.getEast().get().isLinkedTo(cell)
-                    ?   " "
-                    :   "|";
-            return MIDDLE_BODY.formatted(this.getCellDataDisplayString(cell)) + eastChars;
-        };
-
-        //Create the string rep of a cell's bottom section
-        final Function<Cell, String> fromCellToBottomStr = (var cell) -> {
-            final var southChars = cell.getSouth().isPresent() 
-                && cell.getSouth().get().isLinkedTo(cell)
-                    ?   "   "
-                    :   "---";
-
-
-            //Corner character logic
-            final var eastCell = cell.getEast();
-            final var southCell = cell.getSouth();
-            final Optional<Cell> southEastCell = cell.getEast().isPresent()
-                ?   cell.getEast().get().getSouth()
-                :   Optional.empty();
-            
-            //Check walls surrounding corner
-            var horizontalWalls = 0;
-            var verticalWalls = 0;
-            if(!eastCell.isPresent() || !cell.isLinkedTo(eastCell.get())) verticalWalls++;
-            if(!southCell.isPresent() || !cell.isLinkedTo(southCell.get())) horizontalWalls++;
-            if(eastCell.isPresent() && southEastCell.isPresent() && !eastCell.get().isLinkedTo(southEastCell.get())) horizontalWalls++;
-            if(southCell.isPresent() && southEastCell.isPresent() && !southCell.get().isLinkedTo(southEastCell.get())) verticalWalls++;
-
-            //Choose corner character based on what walls exist
-            String cornerChar = "?";
-            if(horizontalWalls + verticalWalls == 4)                cornerChar = "+";
-            else if(horizontalWalls == 2)                           cornerChar = "-";
-            else if(verticalWalls == 2)                             cornerChar = "|";
-            else if(horizontalWalls == 1 && verticalWalls == 1)     cornerChar = "+";   //This can become mega complex if a better character is wanted
-            else if(horizontalWalls > 0)                            cornerChar = "-";
-            else if(verticalWalls > 0)                              cornerChar = "|";
-             
-            return  southChars + cornerChar;
-        };
-
-        final var middleLine = MIDDLE_START + row.stream()
-            .map(fromCellToMiddleStr)
-            .reduce(String::concat)
-            .get();
-
-        final var bottomLine = BOTTOM_START + row.stream()
-            .map(fromCellToBottomStr)
-            .reduce(String::concat)
-            .get();
-
-        return middleLine + "\n" + bottomLine;
+        return this.textRenderer().render(this);
+    }
+
+    /**
+     * Writes the string representation of the grid to the provided output, row by row.
+     * Produces the same text as {@link Grid#toString} without building it in memory first.
+     * @param output Output to write to, e.g. a Writer. It is not flushed or closed.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void write(Appendable output) throws IOException {
+        this.textRenderer().render(this, output);
+    }
+
+    /**
+     * Returns renderer that displays the grid's cells as text, including any displayed grid data.
+     * @return Text renderer for this grid.
+     */
+    private GridTextRenderer textRenderer(){
+        return new GridTextRenderer((var index) -> this.getCellDataDisplayString(this.cellAt(index)));
     }
 
     /**
@@ -413,49 +454,7 @@ public class Grid {
      * @return Image of the grid.
      */
     public ImagePlus toImage(String title, int cellSize){
-        //Number of pixels of whitespace to place on each side of the grid
-        //This is to show the full grid, including it's boundaries, in the image. 
-        final var OFFSET = 30;  
-        final var BACKGROUND_COLOR = 255;   //white
-        final var WALL_COLOR = 0;           //black
-        final var LINE_WIDTH = 3;
-
-        final var imageWidth = (cellSize * this.colCount) + 2*OFFSET;
-        final var imageHeight = (cellSize * this.rowCount) + 2*OFFSET;
-        ImageProcessor ip = new ByteProcessor(imageWidth, imageHeight);
-
-        //Background
-        ip.setValue(BACKGROUND_COLOR);
-        ip.fill();
-
-        //Draw maze
-        ip.setValue(WALL_COLOR);
-        ip.setLineWidth(LINE_WIDTH);
-        this.getCells()
-            .stream()
-            .forEach((var cell) -> {
-                //Cell coords
-                final var x1 = (cell.getColumnPosition() * cellSize) + OFFSET;
-                final var y1 = (cell.getRowPosition() * cellSize) + OFFSET;
-                final var x2 = ((cell.getColumnPosition()+1) * cellSize) + OFFSET;
-                final var y2 = ((cell.getRowPosition()+1) * cellSize + OFFSET);
-
-                //Northern & Western walls only if there are no neighbors
-                if(cell.getNorth().isEmpty())   ip.drawLine(x1, y1, x2, y1);
-                if(cell.getWest().isEmpty())    ip.drawLine(x1, y1, x1, y2);
-                
-                //Eastern wall if no neighbor or unlinked to cell
-                if(cell.getEast().isEmpty() || !cell.getEast().get().isLinkedTo(cell)){
-                    ip.drawLine(x2, y1, x2, y2);
-                }
-
-                //Southern wall if no neighbor or unlinked to cell
-                if(cell.getSouth().isEmpty() || !cell.getSouth().get().isLinkedTo(cell)){
-                    ip.drawLine(x1, y2, x2, y2);    
-                }                
-            });
-
-        return new ImagePlus(title, ip);
+        return new GridImageRenderer(cellSize).render(this, title);
     }
 
     /**
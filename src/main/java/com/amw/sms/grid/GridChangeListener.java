@@ -0,0 +1,26 @@
+package com.amw.sms.grid;
+
+/**
+ * Listener of the changes made to a grid's links. Lets anything derived from a grid, e.g. distances,
+ * rendered images or serialized files, be updated or invalidated precisely for the links that changed,
+ * instead of being recomputed defensively.
+ *
+ * Listeners are called on the thread that changed the grid, right after the change. Grids that support
+ * concurrent linking may call a listener from multiple threads at the same time.
+ * @see MazeGrid#addChangeListener
+ */
+public interface GridChangeListener {
+    /**
+     * Called when two cells that were not linked are linked.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     */
+    public void linkAdded(int cell1, int cell2);
+
+    /**
+     * Called when two linked cells are unlinked.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     */
+    public void linkRemoved(int cell1, int cell2);
+}
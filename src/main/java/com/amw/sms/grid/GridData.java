@@ -8,13 +8,13 @@ package com.amw.sms.grid;
  */
 public abstract class GridData {
     //Associated grid
-    private final Grid grid;
+    private final MazeGrid grid;
 
     /**
      * Constructs grid-data instance to be associated with the provided grid.
      * @param grid Grid for which this grid-data is for.
      */
-    public GridData(final Grid grid){
+    public GridData(final MazeGrid grid){
         this.grid = grid;
     }
 
@@ -32,7 +32,7 @@ public abstract class GridData {
      * Get the grid that this grid-data is for.
      * @return The grid that this data is for.
      */
-    final public Grid getGrid() {
+    final public MazeGrid getGrid() {
         return this.grid;
     }
 }
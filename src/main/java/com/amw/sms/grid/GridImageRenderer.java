@@ -0,0 +1,95 @@
+package com.amw.sms.grid;
+
+import ij.ImagePlus;
+import ij.process.ByteProcessor;
+import ij.process.ImageProcessor;
+
+/**
+ * Renders any MazeGrid as an image. Walls are drawn in black on a white background.
+ */
+public class GridImageRenderer {
+    //Number of pixels of whitespace to place on each side of the grid
+    //This is to show the full grid, including it's boundaries, in the image.
+    private static final int OFFSET = 30;
+    private static final int BACKGROUND_COLOR = 255;   //white
+    private static final int WALL_COLOR = 0;           //black
+    private static final int LINE_WIDTH = 3;
+
+    private final int cellSize;
+
+    /**
+     * Constructs renderer that draws cells of the provided size.
+     * @param cellSize The number of pixels each cell will take up.
+     * @throws IllegalArgumentException If the cell size is not positive.
+     */
+    public GridImageRenderer(int cellSize){
+        if(cellSize <= 0){
+            throw new IllegalArgumentException("Cells cannot be rendered with a size of %s pixels".formatted(cellSize));
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Returns the number of pixels in the image of a grid, without rendering it. Computed as a long, so that it
+     * can be checked against a limit before rendering a grid whose image would be too large.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @param cellSize The number of pixels each cell will take up.
+     * @return Number of pixels in the image.
+     */
+    public static long getPixelCount(int rowCount, int colCount, int cellSize){
+        final var imageWidth = (long) cellSize * colCount + 2*OFFSET;
+        final var imageHeight = (long) cellSize * rowCount + 2*OFFSET;
+        return imageWidth * imageHeight;
+    }
+
+    /**
+     * Returns an image of the grid.
+     * @param grid Grid to render.
+     * @param title Title to be used by the image.
+     * @return Image of the grid.
+     * @throws IllegalArgumentException If either side of the image would not fit in an int.
+     */
+    public ImagePlus render(MazeGrid grid, String title){
+        if((long) this.cellSize * Math.max(grid.getRowCount(), grid.getColumnCount()) + 2*OFFSET > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Grid of %sx%s is too large to render with cells of %s pixels"
+                .formatted(grid.getRowCount(), grid.getColumnCount(), this.cellSize));
+        }
+        final var imageWidth = (this.cellSize * grid.getColumnCount()) + 2*OFFSET;
+        final var imageHeight = (this.cellSize * grid.getRowCount()) + 2*OFFSET;
+        ImageProcessor ip = new ByteProcessor(imageWidth, imageHeight);
+
+        //Background
+        ip.setValue(BACKGROUND_COLOR);
+        ip.fill();
+
+        //Northern & western boundaries of the grid
+        ip.setValue(WALL_COLOR);
+        ip.setLineWidth(LINE_WIDTH);
+        ip.drawLine(OFFSET, OFFSET, imageWidth - OFFSET, OFFSET);
+        ip.drawLine(OFFSET, OFFSET, OFFSET, imageHeight - OFFSET);
+
+        //Every cell draws its own eastern and southern walls
+        final var cellCount = grid.getCellCount();
+        for(var cell = 0; cell < cellCount; cell++){
+            final var x1 = (grid.columnOf(cell) * this.cellSize) + OFFSET;
+            final var y1 = (grid.rowOf(cell) * this.cellSize) + OFFSET;
+            final var x2 = x1 + this.cellSize;
+            final var y2 = y1 + this.cellSize;
+
+            //Eastern wall if no neighbor or unlinked to cell
+            final var east = grid.east(cell);
+            if(east == MazeGrid.NO_CELL || !grid.isLinked(cell, east)){
+                ip.drawLine(x2, y1, x2, y2);
+            }
+
+            //Southern wall if no neighbor or unlinked to cell
+            final var south = grid.south(cell);
+            if(south == MazeGrid.NO_CELL || !grid.isLinked(cell, south)){
+                ip.drawLine(x1, y2, x2, y2);
+            }
+        }
+
+        return new ImagePlus(title, ip);
+    }
+}
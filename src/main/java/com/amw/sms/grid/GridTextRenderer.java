@@ -0,0 +1,137 @@
+package com.amw.sms.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.IntFunction;
+
+/**
+ * Renders any MazeGrid as text, e.g. the string representation of a {@link Grid}.
+ *
+ * The text is written straight into an Appendable (a Writer, StringBuilder, CharBuffer, ...) one line at a time,
+ * using a single builder that is reused for every line. Large mazes can therefore be written to a file or socket
+ * without ever holding their full text in memory.
+ */
+public class GridTextRenderer {
+    private static final String MIDDLE_START = "|";
+    private static final String BOTTOM_START = "+";
+    private static final String TOP_BODY = "---+";
+
+    private final IntFunction<String> cellContents;
+
+    /**
+     * Constructs renderer that displays every cell as empty.
+     */
+    public GridTextRenderer(){
+        this((var index) -> " ");
+    }
+
+    /**
+     * Constructs renderer that displays the provided contents within each cell.
+     * @param cellContents Function returning the contents to display within a cell, given its index.
+     */
+    public GridTextRenderer(IntFunction<String> cellContents){
+        this.cellContents = cellContents;
+    }
+
+    /**
+     * Returns the text representation of the grid.
+     * @param grid Grid to render.
+     * @return Text representation of the grid.
+     */
+    public String render(MazeGrid grid){
+        final var output = new StringBuilder();
+        try{
+            this.render(grid, output);
+        }
+        catch(IOException e){
+            //StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes the text representation of the grid to the provided output.
+     * @param grid Grid to render.
+     * @param output Output to write to. It is not flushed or closed.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void render(MazeGrid grid, Appendable output) throws IOException {
+        final var colCount = grid.getColumnCount();
+        final var line = new StringBuilder(colCount * TOP_BODY.length() + 2);
+
+        //Top of the grid. The rest of the grid will be done row-by-row.
+        line.append(BOTTOM_START).append(TOP_BODY.repeat(colCount)).append('\n');
+        output.append(line);
+
+        //Each row will be 3 lines - top, middle and bottom. Since the bottom
+        //of each row is the top of the following row, only the middle and bottom
+        //of each row needs to be created.
+        for(var row = 0; row < grid.getRowCount(); row++){
+            final var firstCell = row * colCount;
+            final var lastCell = firstCell + colCount;
+
+            //Middle line: cell contents and eastern walls
+            line.setLength(0);
+            line.append(MIDDLE_START);
+            for(var cell = firstCell; cell < lastCell; cell++){
+                line.append(' ').append(this.cellContents.apply(cell)).append(' ')
+                    .append(this.isLinked(grid, cell, grid.east(cell)) ? ' ' : '|');
+            }
+            output.append(line.append('\n'));
+
+            //Bottom line: southern walls and corners
+            line.setLength(0);
+            line.append(BOTTOM_START);
+            for(var cell = firstCell; cell < lastCell; cell++){
+                line.append(this.isLinked(grid, cell, grid.south(cell)) ? "   " : "---")
+                    .append(this.cornerCharacter(grid, cell));
+            }
+            output.append(line.append('\n'));
+        }
+    }
+
+    /**
+     * Returns the character used for the south-eastern corner of a cell.
+     * @param grid Grid containing the cell.
+     * @param cell Index of the cell.
+     * @return Corner character.
+     */
+    private char cornerCharacter(MazeGrid grid, int cell){
+        final var eastCell = grid.east(cell);
+        final var southCell = grid.south(cell);
+        final var southEastCell = eastCell != MazeGrid.NO_CELL
+            ?   grid.south(eastCell)
+            :   MazeGrid.NO_CELL;
+
+        //Check walls surrounding corner
+        var horizontalWalls = 0;
+        var verticalWalls = 0;
+        if(!this.isLinked(grid, cell, eastCell))  verticalWalls++;
+        if(!this.isLinked(grid, cell, southCell)) horizontalWalls++;
+        if(southEastCell != MazeGrid.NO_CELL){
+            if(!grid.isLinked(eastCell, southEastCell)) horizontalWalls++;
+            if(!grid.isLinked(southCell, southEastCell)) verticalWalls++;
+        }
+
+        //Choose corner character based on what walls exist
+        if(horizontalWalls + verticalWalls == 4)                return '+';
+        else if(horizontalWalls == 2)                           return '-';
+        else if(verticalWalls == 2)                             return '|';
+        else if(horizontalWalls == 1 && verticalWalls == 1)     return '+';   //This can become mega complex if a better character is wanted
+        else if(horizontalWalls > 0)                            return '-';
+        else if(verticalWalls > 0)                              return '|';
+        return '?';
+    }
+
+    /**
+     * Indicates whether a cell is linked to a neighbor that may not exist.
+     * @param grid Grid containing the cells.
+     * @param cell Index of the cell.
+     * @param neighbor Index of the neighbor, or {@link MazeGrid#NO_CELL}.
+     * @return true if the neighbor exists and is linked to the cell; false otherwise.
+     */
+    private boolean isLinked(MazeGrid grid, int cell, int neighbor){
+        return neighbor != MazeGrid.NO_CELL && grid.isLinked(cell, neighbor);
+    }
+}
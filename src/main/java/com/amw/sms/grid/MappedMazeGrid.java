@@ -0,0 +1,86 @@
+package com.amw.sms.grid;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only grid whose links are read straight from a buffer, typically a MappedByteBuffer over a maze file.
+ * Nothing is loaded up front: opening a grid of any size is immediate, and only the parts of the buffer that
+ * are actually walked are ever read from disk.
+ *
+ * The buffer stores 2 bits per cell, in the same layout as {@link BitfieldGrid}: byte i / 4 holds the links of
+ * cell i at bits 2 * (i % 4) (eastern link) and 2 * (i % 4) + 1 (southern link). Eastern links of cells in the last
+ * column and southern links of cells in the last row would lead off the grid, so they are ignored if the buffer
+ * sets them, rather than checking every edge cell up front and reading most of a large file on opening it.
+ */
+public class MappedMazeGrid extends PackedLinkGrid {
+    private static final int CELLS_PER_BYTE = Byte.SIZE / BITS_PER_CELL;
+
+    private final ByteBuffer links;
+    private final int lastRowStart;
+
+    /**
+     * Constructs grid over the provided buffer of links.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @param links Buffer holding the links, starting at index 0. Only absolute reads are made, so the buffer's
+     * position and limit are left unchanged.
+     * @throws IllegalArgumentException If either dimension is invalid or if the buffer is too small for the grid.
+     */
+    public MappedMazeGrid(int rowCount, int colCount, ByteBuffer links){
+        super(rowCount, colCount);
+        if(links.capacity() < getByteCount(rowCount, colCount)){
+            throw new IllegalArgumentException("Buffer of %s bytes cannot hold the links of a %sx%s grid"
+                .formatted(links.capacity(), rowCount, colCount));
+        }
+        this.links = links;
+        this.lastRowStart = (rowCount - 1) * colCount;
+    }
+
+    /**
+     * Returns the number of bytes needed to store the links of a grid.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @return Number of bytes.
+     */
+    public static long getByteCount(int rowCount, int colCount){
+        return ((long) rowCount * colCount + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The grid is read-only, so this never changes.
+     */
+    @Override
+    public long getModificationCount(){
+        return 0;
+    }
+
+    /**
+     * Not supported, the grid is read-only.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void link(int cell1, int cell2){
+        throw new UnsupportedOperationException("Mapped grids are read-only");
+    }
+
+    /**
+     * Not supported, the grid is read-only.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void unlink(int cell1, int cell2){
+        throw new UnsupportedOperationException("Mapped grids are read-only");
+    }
+
+    @Override
+    protected int linkBits(int index){
+        final var bits = this.links.get(index / CELLS_PER_BYTE);
+        var cellBits = (bits >>> ((index % CELLS_PER_BYTE) * BITS_PER_CELL)) & (EAST_LINK | SOUTH_LINK);
+        if(cellBits != 0){
+            if(index % this.getColumnCount() == this.getColumnCount() - 1) cellBits &= ~EAST_LINK;
+            if(index >= this.lastRowStart)                                cellBits &= ~SOUTH_LINK;
+        }
+        return cellBits;
+    }
+}
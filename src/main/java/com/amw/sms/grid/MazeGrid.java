@@ -0,0 +1,236 @@
+package com.amw.sms.grid;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Interface for the grids that mazes are built on.
+ * Cells are addressed by their index rather than by Cell objects so that implementations are free
+ * to choose their own internal representation, e.g. a List of List of Cells (Grid) or a packed
+ * array of bits (BitfieldGrid). Indexes are row-major: the cell at a row and column has the
+ * index row * columnCount + column.
+ *
+ * Algorithms should be written against this interface so that they work with every grid
+ * implementation.
+ */
+public interface MazeGrid {
+    /**
+     * Index returned when a requested cell does not exist, e.g. when asking for the northern
+     * neighbor of a cell in the first row.
+     */
+    public static final int NO_CELL = -1;
+
+    /**
+     * The most neighbors a cell can have. Buffers passed to {@link MazeGrid#getNeighbors} must be at least
+     * this large.
+     */
+    public static final int MAX_NEIGHBORS = 4;
+
+    /**
+     * Returns the number of rows in the grid.
+     * @return The number of rows in the grid.
+     */
+    public int getRowCount();
+
+    /**
+     * Returns the number of columns in the grid.
+     * @return The number of columns in the grid.
+     */
+    public int getColumnCount();
+
+    /**
+     * Returns the total number of cells within the grid.
+     * @return The number of cells in the grid.
+     */
+    public default int getCellCount(){
+        return this.getRowCount() * this.getColumnCount();
+    }
+
+    /**
+     * Returns the index of the cell at the provided row and column.
+     * @param row Row that contains the cell
+     * @param column Column that contains the cell
+     * @return Index of the cell, or {@link MazeGrid#NO_CELL} if the position is outside of the grid.
+     */
+    public default int indexOf(int row, int column){
+        if(row < 0 || row >= this.getRowCount())         return NO_CELL;
+        if(column < 0 || column >= this.getColumnCount()) return NO_CELL;
+        return row * this.getColumnCount() + column;
+    }
+
+    /**
+     * Returns the row containing the cell with the provided index.
+     * @param index Index of the cell.
+     * @return Row of the cell.
+     */
+    public default int rowOf(int index){
+        return index / this.getColumnCount();
+    }
+
+    /**
+     * Returns the column containing the cell with the provided index.
+     * @param index Index of the cell.
+     * @return Column of the cell.
+     */
+    public default int columnOf(int index){
+        return index % this.getColumnCount();
+    }
+
+    /**
+     * Returns the northern neighbor of a cell.
+     * @param index Index of the cell.
+     * @return Index of the northern neighbor, or {@link MazeGrid#NO_CELL} if there is none.
+     */
+    public default int north(int index){
+        return index >= this.getColumnCount() ? index - this.getColumnCount() : NO_CELL;
+    }
+
+    /**
+     * Returns the eastern neighbor of a cell.
+     * @param index Index of the cell.
+     * @return Index of the eastern neighbor, or {@link MazeGrid#NO_CELL} if there is none.
+     */
+    public default int east(int index){
+        return this.columnOf(index) < this.getColumnCount() - 1 ? index + 1 : NO_CELL;
+    }
+
+    /**
+     * Returns the southern neighbor of a cell.
+     * @param index Index of the cell.
+     * @return Index of the southern neighbor, or {@link MazeGrid#NO_CELL} if there is none.
+     */
+    public default int south(int index){
+        return index < this.getCellCount() - this.getColumnCount() ? index + this.getColumnCount() : NO_CELL;
+    }
+
+    /**
+     * Returns the western neighbor of a cell.
+     * @param index Index of the cell.
+     * @return Index of the western neighbor, or {@link MazeGrid#NO_CELL} if there is none.
+     */
+    public default int west(int index){
+        return this.columnOf(index) > 0 ? index - 1 : NO_CELL;
+    }
+
+    /**
+     * Writes the indexes of all of a cell's neighbors into the provided buffer.
+     * Neighbors are written in the order north, east, south, west, skipping those that don't exist.
+     * @param index Index of the cell.
+     * @param buffer Buffer to write the neighbors into. Must hold at least {@link MazeGrid#MAX_NEIGHBORS} cells.
+     * @return Number of neighbors written to the buffer.
+     */
+    public default int getNeighbors(int index, int[] buffer){
+        var count = 0;
+        final var north = this.north(index);
+        final var east = this.east(index);
+        final var south = this.south(index);
+        final var west = this.west(index);
+
+        if(north != NO_CELL) buffer[count++] = north;
+        if(east != NO_CELL)  buffer[count++] = east;
+        if(south != NO_CELL) buffer[count++] = south;
+        if(west != NO_CELL)  buffer[count++] = west;
+        return count;
+    }
+
+    /**
+     * Links two cells, creating a path between them.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     */
+    public void link(int cell1, int cell2);
+
+    /**
+     * Unlinks two cells, removing the path between them.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     */
+    public void unlink(int cell1, int cell2);
+
+    /**
+     * Links every cell to all of its neighbors, leaving no walls within the grid. Algorithms that carve a maze by
+     * adding walls, rather than paths, start from such a grid.
+     */
+    public default void linkAll(){
+        final var cellCount = this.getCellCount();
+        for(var cell = 0; cell < cellCount; cell++){
+            final var east = this.east(cell);
+            final var south = this.south(cell);
+            if(east != NO_CELL)  this.link(cell, east);
+            if(south != NO_CELL) this.link(cell, south);
+        }
+    }
+
+    /**
+     * Indicates whether two cells are linked.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     * @return true if the cells are linked; false otherwise.
+     */
+    public boolean isLinked(int cell1, int cell2);
+
+    /**
+     * Returns the number of cells linked to a cell.
+     * @param index Index of the cell.
+     * @return Number of links.
+     */
+    public int degree(int index);
+
+    /**
+     * Writes the indexes of all of the cells linked to a cell into the provided buffer.
+     * @param index Index of the cell.
+     * @param buffer Buffer to write the linked cells into. Must be able to hold {@link MazeGrid#degree} cells,
+     * which is never more than {@link MazeGrid#MAX_NEIGHBORS} when only neighboring cells are linked.
+     * @return Number of linked cells written to the buffer.
+     */
+    public int getLinks(int index, int[] buffer);
+
+    /**
+     * Returns a count of the changes made to the grid's links. It changes whenever cells are linked or unlinked,
+     * so anything derived from the grid, e.g. distances, can record it and later tell whether it is out of date.
+     * @return Modification count. Only whether it changed is meaningful, not its value.
+     */
+    public long getModificationCount();
+
+    /**
+     * Adds a listener that is told about every link added to or removed from the grid from now on.
+     * Linking cells that are already linked, or unlinking cells that are not, does not call it.
+     * @param listener Listener to add.
+     */
+    public void addChangeListener(GridChangeListener listener);
+
+    /**
+     * Removes a listener added with {@link MazeGrid#addChangeListener}.
+     * @param listener Listener to remove.
+     */
+    public void removeChangeListener(GridChangeListener listener);
+
+    /**
+     * Indicates whether distinct pairs of cells can be linked or unlinked from multiple threads at the same time.
+     * Parallel algorithms fall back to running sequentially on grids that do not support this.
+     * @return true if concurrent linking is safe; false otherwise.
+     */
+    public default boolean supportsConcurrentLinking(){
+        return false;
+    }
+
+    /**
+     * Indicates whether cells can only ever be linked to their neighbors, so that no cell has more than
+     * {@link MazeGrid#MAX_NEIGHBORS} links. Algorithms can then size their link buffers once, without asking for
+     * the {@link MazeGrid#degree} of every cell.
+     * @return true if only neighboring cells can be linked; false otherwise.
+     */
+    public default boolean linksOnlyNeighbors(){
+        return false;
+    }
+
+    /**
+     * Performs the provided action for each cell index, in increasing order.
+     * @param action Action to perform.
+     */
+    public default void forEachCell(IntConsumer action){
+        final var cellCount = this.getCellCount();
+        for(var index = 0; index < cellCount; index++){
+            action.accept(index);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.amw.sms.grid;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ij.ImagePlus;
+
+/**
+ * Base class for grids that store their links as 2 bits per cell. Since links only ever exist between
+ * neighboring cells, each cell only needs to record its link to its eastern neighbor and its link to its
+ * southern neighbor. Its northern and western links are stored by the northern and western neighbors respectively.
+ *
+ * Subclasses decide where the bits are kept, e.g. in an array (BitfieldGrid) or in a mapped file (MappedMazeGrid),
+ * and provide them through {@link PackedLinkGrid#linkBits}.
+ */
+public abstract class PackedLinkGrid implements MazeGrid {
+    /**
+     * Bit of a cell that stores its link to its eastern neighbor.
+     */
+    protected static final int EAST_LINK = 0b01;
+
+    /**
+     * Bit of a cell that stores its link to its southern neighbor.
+     */
+    protected static final int SOUTH_LINK = 0b10;
+
+    /**
+     * Number of bits stored per cell.
+     */
+    protected static final int BITS_PER_CELL = 2;
+
+    private final int rowCount, colCount;
+    private final List<GridChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a grid with the provided number of rows and columns.
+     * @param rowCount Number of rows in the grid.
+     * @param colCount Number of columns in the grid.
+     * @throws IllegalArgumentException If either dimension is not positive or if the grid would
+     * contain more cells than can be addressed by an int index.
+     */
+    protected PackedLinkGrid(int rowCount, int colCount){
+        if(rowCount <= 0 || colCount <= 0){
+            throw new IllegalArgumentException("Grid cannot be created with %s rows and %s columns"
+                .formatted(rowCount, colCount));
+        }
+        if((long) rowCount * colCount > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Grid of %sx%s exceeds the maximum number of cells"
+                .formatted(rowCount, colCount));
+        }
+
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+    }
+
+    @Override
+    public int getRowCount(){
+        return this.rowCount;
+    }
+
+    @Override
+    public int getColumnCount(){
+        return this.colCount;
+    }
+
+    @Override
+    public void addChangeListener(GridChangeListener listener){
+        this.changeListeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(GridChangeListener listener){
+        this.changeListeners.remove(listener);
+    }
+
+    /**
+     * Indicates whether any change listeners were added, so that subclasses only work out what changed when
+     * someone is listening.
+     * @return true if there are change listeners.
+     */
+    protected boolean hasChangeListeners(){
+        return !this.changeListeners.isEmpty();
+    }
+
+    /**
+     * Tells the change listeners that two cells were linked or unlinked.
+     * @param cell1 Index of the first cell.
+     * @param cell2 Index of the second cell.
+     * @param linked true if the cells were linked; false if they were unlinked.
+     */
+    protected void fireLinkChanged(int cell1, int cell2, boolean linked){
+        for(final var listener : this.changeListeners){
+            if(linked)  listener.linkAdded(cell1, cell2);
+            else        listener.linkRemoved(cell1, cell2);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cells that are not neighbors are never linked.
+     */
+    @Override
+    public boolean isLinked(int cell1, int cell2){
+        if(cell1 > cell2){
+            return this.isLinked(cell2, cell1);
+        }
+        if(cell1 == NO_CELL){
+            return false;
+        }
+
+        if(cell2 == this.east(cell1))   return this.hasLink(cell1, EAST_LINK);
+        if(cell2 == this.south(cell1))  return this.hasLink(cell1, SOUTH_LINK);
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Links are stored as bits shared with the neighbors, so this is always true.
+     */
+    @Override
+    public boolean linksOnlyNeighbors(){
+        return true;
+    }
+
+    @Override
+    public int degree(int index){
+        var degree = Integer.bitCount(this.linkBits(index));
+
+        final var north = this.north(index);
+        final var west = this.west(index);
+        if(north != NO_CELL && this.hasLink(north, SOUTH_LINK)) degree++;
+        if(west != NO_CELL && this.hasLink(west, EAST_LINK))    degree++;
+
+        return degree;
+    }
+
+    @Override
+    public int getLinks(int index, int[] buffer){
+        var count = 0;
+
+        final var north = this.north(index);
+        final var west = this.west(index);
+        if(north != NO_CELL && this.hasLink(north, SOUTH_LINK)) buffer[count++] = north;
+        if(this.hasLink(index, EAST_LINK))                      buffer[count++] = index + 1;
+        if(this.hasLink(index, SOUTH_LINK))                     buffer[count++] = index + this.colCount;
+        if(west != NO_CELL && this.hasLink(west, EAST_LINK))    buffer[count++] = west;
+
+        return count;
+    }
+
+    /**
+     * Returns the link bits stored by a cell, i.e. its eastern ({@link PackedLinkGrid#EAST_LINK}) and
+     * southern ({@link PackedLinkGrid#SOUTH_LINK}) links.
+     * @param index Index of the cell.
+     * @return Bits of the cell.
+     */
+    protected abstract int linkBits(int index);
+
+    /**
+     * Indicates whether a cell stores the provided link.
+     * @param index Index of the cell.
+     * @param link Either the eastern or southern link.
+     * @return true if the link is set.
+     */
+    protected boolean hasLink(int index, int link){
+        return (this.linkBits(index) & link) != 0;
+    }
+
+    /**
+     * Returns string representation of the grid. Uses the same format as {@link Grid#toString}.
+     * @return String representation of the grid.
+     */
+    public String toString(){
+        return new GridTextRenderer().render(this);
+    }
+
+    /**
+     * Writes the string representation of the grid to the provided output, row by row.
+     * @param output Output to write to, e.g. a Writer. It is not flushed or closed.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void write(Appendable output) throws IOException {
+        new GridTextRenderer().render(this, output);
+    }
+
+    /**
+     * Returns an image of the grid. Cell size will be 10 pixels.
+     * @param title Title to be used by the image.
+     * @return Image of the grid.
+     */
+    public ImagePlus toImage(String title){
+        return this.toImage(title, 10);
+    }
+
+    /**
+     * Returns an image of the grid.
+     * @param title Title to be used by the image.
+     * @param cellSize The number of pixels each cell will take up.
+     * @return Image of the grid.
+     */
+    public ImagePlus toImage(String title, int cellSize){
+        return new GridImageRenderer(cellSize).render(this, title);
+    }
+}
@@ -1,8 +1,12 @@
 package com.amw.sms.mazes;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
 import com.amw.sms.grid.Cell;
+import com.amw.sms.grid.CellDistances;
 import com.amw.sms.grid.Grid;
 import com.amw.sms.mazes.goals.MazeGoal;
 import com.amw.sms.util.Pair;
@@ -18,6 +22,10 @@ import com.amw.sms.util.Pair;
 public class Maze {
     private Grid grid;
     private Pair<MazeGoal, MazeGoal> entrances;
+    private Optional<MazeGenAlgorithmType> algorithmType;
+    private Optional<Long> seed;
+    private Optional<CellDistances> distancesFromStart;
+    private long distancesModificationCount;
 
     /**
      * Construct maze using provided grid and the specified start and end.
@@ -25,8 +33,37 @@ public class Maze {
      * @param startAndEnd Pair of cells representing the entrance and exit of the maze.
      */
     public Maze(Grid grid, Pair<MazeGoal, MazeGoal> startAndEnd){
+        this(grid, startAndEnd, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Construct maze using provided grid and the specified start and end, recording how it was generated.
+     * @param grid Grid of cells representing maze.
+     * @param startAndEnd Pair of cells representing the entrance and exit of the maze.
+     * @param algorithmType Type of the algorithm that generated the maze, if known.
+     * @param seed Seed that the maze was generated from, if any.
+     */
+    public Maze(Grid grid, Pair<MazeGoal, MazeGoal> startAndEnd, Optional<MazeGenAlgorithmType> algorithmType, Optional<Long> seed){
+        this(grid, startAndEnd, algorithmType, seed, Optional.empty());
+    }
+
+    /**
+     * Construct maze using provided grid and the specified start and end, recording how it was generated
+     * and the distances from its start that were computed while building it.
+     * @param grid Grid of cells representing maze.
+     * @param startAndEnd Pair of cells representing the entrance and exit of the maze.
+     * @param algorithmType Type of the algorithm that generated the maze, if known.
+     * @param seed Seed that the maze was generated from, if any.
+     * @param distancesFromStart Distances from the start cell to every other cell, if already computed.
+     */
+    public Maze(Grid grid, Pair<MazeGoal, MazeGoal> startAndEnd, Optional<MazeGenAlgorithmType> algorithmType,
+            Optional<Long> seed, Optional<CellDistances> distancesFromStart){
         this.grid = grid;
         this.entrances = startAndEnd;
+        this.algorithmType = algorithmType;
+        this.seed = seed;
+        this.distancesFromStart = distancesFromStart;
+        this.distancesModificationCount = grid.getModificationCount();
     }
 
     /**
@@ -45,6 +82,37 @@ public class Maze {
         return this.entrances.getSecond().getCell();
     }
 
+    /**
+     * Returns the type of the algorithm that generated the maze.
+     * @return Optional containing the algorithm type. Returns an empty Optional if the maze was
+     * generated by an algorithm that was not chosen by type.
+     */
+    public Optional<MazeGenAlgorithmType> getAlgorithmType(){
+        return this.algorithmType;
+    }
+
+    /**
+     * Returns the seed that the maze was generated from.
+     * @return Optional containing the seed. Returns an empty Optional if the maze was generated without a seed.
+     * @see MazeBuilder#withSeed
+     */
+    public Optional<Long> getSeed(){
+        return this.seed;
+    }
+
+    /**
+     * Returns the distances from the start cell to every other cell, if they were computed while building the maze.
+     * Solvers can walk these back from the exit instead of searching the maze again.
+     * The grid can still be linked or unlinked after the maze is built, which leaves the distances out of date,
+     * so they are only returned while the grid's links are unchanged (see {@link Grid#getModificationCount}).
+     * @return Optional containing the distances, rooted at the start cell. Returns an empty Optional if they
+     * were not computed or if the grid's links have changed since.
+     */
+    public Optional<CellDistances> getDistancesFromStart(){
+        return this.distancesFromStart
+            .filter((var distances) -> this.grid.getModificationCount() == this.distancesModificationCount);
+    }
+
     /**
      * Returns the grid used internally by the maze. This should be used only when classes need to work
      * with the maze a low level, such as for solving the maze.
@@ -73,4 +141,14 @@ public class Maze {
     public String toString(){
         return this.grid.toString();
     }
+
+    /**
+     * Writes the string representation of the grid to the provided output.
+     * @param output Output to write to, e.g. a Writer. It is not flushed or closed.
+     * @throws IOException If the output cannot be written to.
+     * @see Grid#write
+     */
+    public void write(Appendable output) throws IOException {
+        this.grid.write(output);
+    }
 }
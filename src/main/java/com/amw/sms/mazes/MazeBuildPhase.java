@@ -0,0 +1,32 @@
+package com.amw.sms.mazes;
+
+/**
+ * Phases of building a maze, in the order they run.
+ * @see MazeBuildTracer
+ */
+public enum MazeBuildPhase {
+    /**
+     * Allocating the empty grid.
+     */
+    GRID,
+
+    /**
+     * Generating the paths of the maze.
+     */
+    GENERATION,
+
+    /**
+     * Choosing the entrance.
+     */
+    ENTRANCE,
+
+    /**
+     * Choosing the exit.
+     */
+    EXIT,
+
+    /**
+     * Computing the distances displayed within the maze. Only runs if distances are shown.
+     */
+    DISTANCES
+}
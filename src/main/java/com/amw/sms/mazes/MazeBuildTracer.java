@@ -0,0 +1,18 @@
+package com.amw.sms.mazes;
+
+import java.time.Duration;
+
+/**
+ * Receives the duration of each phase of building a maze, to see where build time goes.
+ * Tracing is opt-in: builders without a tracer do not time anything.
+ * @see MazeBuilder#withTracer
+ */
+@FunctionalInterface
+public interface MazeBuildTracer {
+    /**
+     * Called when a phase of building a maze completes.
+     * @param phase The phase.
+     * @param duration How long the phase took.
+     */
+    void phaseCompleted(MazeBuildPhase phase, Duration duration);
+}
@@ -1,8 +1,13 @@
 package com.amw.sms.mazes;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
 import com.amw.sms.algorithms.AlgorithmFactory;
 import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
-import com.amw.sms.grid.Cell;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.grid.CellDistances;
 import com.amw.sms.grid.Grid;
 import com.amw.sms.grid.GridFactory;
 import com.amw.sms.mazes.goals.MazeGoal;
@@ -21,12 +26,15 @@ public class MazeBuilder {
     private int startRow = 0, startColumn = 0; //TODO do we use defaults still? We shouldn't leave them uninitialized but we also will never use the default values...
     private int endRow = 0, endColumn = 0;
     private MazeGenAlgorithm genAlgorithm;
+    private Optional<MazeGenAlgorithmType> genAlgorithmType = Optional.empty();
     private boolean startAtFirst = true;
     private boolean endAtLast = true;
     private boolean useLongestPath = false;
     private boolean useRandomStart = false;
     private boolean useRandomEnd = false;
     private boolean showDistances = false;
+    private Optional<Long> seed = Optional.empty();
+    private Optional<MazeBuildTracer> tracer = Optional.empty();
 
     /**
      * Constructs new MazeBuilder.
@@ -65,6 +73,20 @@ public class MazeBuilder {
      */
     public MazeBuilder usingAlgorithm(MazeGenAlgorithm genAlgorithm){
         this.genAlgorithm = genAlgorithm;
+        this.genAlgorithmType = Optional.empty();
+        return this;
+    }
+
+    /**
+     * Set the type of maze-generation algorithm to be used during the build process. Unlike providing the
+     * algorithm itself, the type is recorded in the built maze.
+     * @param type Type of the maze generation algorithm to be used.
+     * @return Builder instance
+     * @see Maze#getAlgorithmType
+     */
+    public MazeBuilder usingAlgorithm(MazeGenAlgorithmType type){
+        this.genAlgorithm = this.algorithmFactory.getGenerationAlgorithm(type);
+        this.genAlgorithmType = Optional.of(type);
         return this;
     }
 
@@ -96,6 +118,29 @@ public class MazeBuilder {
         return this;
     }
 
+    /**
+     * Sets the seed that all of the random choices made while building the maze are drawn from.
+     * Building with the same seed, size, algorithm and goal settings always produces the same maze,
+     * so a maze can be regenerated from those alone instead of being stored.
+     * If no seed is set, a different maze is built every time.
+     * @param seed Seed of the maze.
+     * @return Builder instance.
+     */
+    public MazeBuilder withSeed(long seed){
+        this.seed = Optional.of(seed);
+        return this;
+    }
+
+    /**
+     * Sets the tracer that is told how long each phase of the build takes. Without a tracer, nothing is timed.
+     * @param tracer Tracer of the build.
+     * @return Builder instance.
+     */
+    public MazeBuilder withTracer(MazeBuildTracer tracer){
+        this.tracer = Optional.of(tracer);
+        return this;
+    }
+
     /**
      * Sets entrance and exit in maze such that the longest path (or at least, a quite long path)
      * within the maze is used.
@@ -148,23 +193,55 @@ public class MazeBuilder {
         if(this.rowCount == 0) throw new InvalidMazeException(NO_GRID_SIZE);    //TODO - if grid size is required, does it make sense to require it as part of constructor? See builder pattern conventions
 
         //Initial grid
+        var phaseStart = this.tracer.isPresent() ? System.nanoTime() : 0L;
         final var grid = gridFactory.createGrid(this.rowCount, this.colCount);
-        System.out.println("-- START MAZE BUILDER -- \n Empty grid"); //TODO - Temp print
-        System.out.println(grid); //todo Temp
+        phaseStart = this.tracePhase(MazeBuildPhase.GRID, phaseStart);
+
+        //One generator for every random choice, i.e. the pathing and any random goals
+        final var rng = this.seed.isPresent()
+            ?   new SplittableRandom(this.seed.get())
+            :   new SplittableRandom();
+        grid.setRandomGenerator(rng);
 
         //Build pathing
-        this.genAlgorithm.apply(grid);
+        this.genAlgorithm.apply(grid, rng);
+        phaseStart = this.tracePhase(MazeBuildPhase.GENERATION, phaseStart);
 
-        //Goals
+        //Goals. The longest path is found with two searches: the cell farthest from any cell is an end of
+        //the longest path and the cell farthest from that end is the other. The distances of the second search
+        //are from the entrance, so they are kept for display and solving.
         final var start = this.getEntrance(grid);
-        final var end = this.getExit(grid, start.getCell());
+        phaseStart = this.tracePhase(MazeBuildPhase.ENTRANCE, phaseStart);
+        var distancesFromStart = this.useLongestPath
+            ?   Optional.of(algorithmFactory.getDijkstra().getDistances(grid, start.getCell()))
+            :   Optional.<CellDistances>empty();
+        final var end = this.getExit(grid, distancesFromStart);
+        phaseStart = this.tracePhase(MazeBuildPhase.EXIT, phaseStart);
 
         //Show it
         if(showDistances){
-            grid.setGridData(algorithmFactory.getDijkstra().getDistances(grid, start.getCell()));
+            if(distancesFromStart.isEmpty()){
+                distancesFromStart = Optional.of(algorithmFactory.getDijkstra().getDistances(grid, start.getCell()));
+            }
+            grid.setGridData(distancesFromStart.get());
+            this.tracePhase(MazeBuildPhase.DISTANCES, phaseStart);
         }
 
-        return new Maze(grid, new Pair<MazeGoal, MazeGoal>(start, end));
+        return new Maze(grid, new Pair<MazeGoal, MazeGoal>(start, end), this.genAlgorithmType, this.seed, distancesFromStart);
+    }
+
+    /**
+     * Reports a completed phase of the build to the tracer, if there is one.
+     * @param phase The completed phase.
+     * @param phaseStart Time the phase started at, in nanoseconds.
+     * @return Time the phase completed at, i.e. the start of the next phase. 0 if there is no tracer.
+     */
+    private long tracePhase(MazeBuildPhase phase, long phaseStart){
+        if(this.tracer.isEmpty()) return 0L;
+
+        final var phaseEnd = System.nanoTime();
+        this.tracer.get().phaseCompleted(phase, Duration.ofNanos(phaseEnd - phaseStart));
+        return phaseEnd;
     }
 
     /**
@@ -189,15 +266,16 @@ public class MazeBuilder {
     /**
      * Get exit cell of grid depending on internal configuration of builder.
      * @param grid The grid.
+     * @param distancesFromStart Distances from the entrance. Always present when using the longest path.
      * @return The cell that the builder has determined to be the end/exit of the maze based on the 
      * configuration of the builder.
      * @throws InvalidMazeException If the end cell that was determined does not actually exist in the grid.
      */
-    private MazeGoal getExit(Grid grid, Cell startCell) throws InvalidMazeException {
+    private MazeGoal getExit(Grid grid, Optional<CellDistances> distancesFromStart) throws InvalidMazeException {
         final var exitBuilder = goalBuilderFactory.create(grid).exit();
 
         MazeGoal exit;
-        if(this.useLongestPath)     exit = exitBuilder.farthestFrom(startCell);
+        if(this.useLongestPath)     exit = exitBuilder.farthestIn(distancesFromStart.get());
         else if(this.useRandomEnd)  exit = exitBuilder.atRandom();
         else if(this.endAtLast)     exit = exitBuilder.atEnd();
         else exit = exitBuilder.atPosition(this.endRow, this.endColumn);
@@ -228,4 +306,12 @@ public class MazeBuilder {
     AlgorithmFactory getAlgorithmFactory(){
         return this.algorithmFactory;
     }
+
+    /**
+     * Get the tracer used by this MazeBuilder.
+     * @return Optional containing the tracer. Returns an empty Optional if the build is not traced.
+     */
+    Optional<MazeBuildTracer> getTracer(){
+        return this.tracer;
+    }
 }
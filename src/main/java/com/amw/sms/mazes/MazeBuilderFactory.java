@@ -1,5 +1,7 @@
 package com.amw.sms.mazes;
 
+import java.util.Optional;
+
 import com.amw.sms.algorithms.AlgorithmFactory;
 import com.amw.sms.grid.GridFactory;
 import com.amw.sms.mazes.goals.MazeGoalBuilderFactory;
@@ -21,16 +23,21 @@ public class MazeBuilderFactory {
     @Autowired
     private AlgorithmFactory algorithmFactory;
 
+    @Autowired
+    private Optional<MazeBuildTracer> tracer;
+
     /**
      * Constructs new MazeBuilderFactory
      */
     public MazeBuilderFactory(){}
 
     /**
-     * Creates new MazeBuilder.
+     * Creates new MazeBuilder. If a MazeBuildTracer bean exists, the builder is traced by it.
      * @return New MazeBuilder instance.
      */
     public MazeBuilder create(){
-        return new MazeBuilder(gridFactory, goalBuilderFactory, algorithmFactory);
+        final var builder = new MazeBuilder(gridFactory, goalBuilderFactory, algorithmFactory);
+        tracer.ifPresent(builder::withTracer);
+        return builder;
     }
 }
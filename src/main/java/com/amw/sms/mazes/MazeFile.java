@@ -0,0 +1,328 @@
+package com.amw.sms.mazes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MappedMazeGrid;
+import com.amw.sms.grid.MazeGrid;
+import com.amw.sms.mazes.goals.MazeGoal;
+import com.amw.sms.mazes.goals.MazeGoalType;
+import com.amw.sms.util.Pair;
+
+/**
+ * A maze in its compact binary file format. The format consists of a header followed by the maze's links.
+ *
+ * Header, all values little-endian:
+ * - magic number "MAZE" (4 bytes) and format version (2 bytes)
+ * - flags (2 bytes), bit 0 set when the maze has a seed
+ * - number of rows and number of columns (4 bytes each)
+ * - seed (8 bytes, 0 if the maze has none)
+ * - index of the entrance cell and of the exit cell (4 bytes each)
+ * - length of the algorithm type's name (2 bytes, 0 if unknown) followed by the name in ASCII
+ *
+ * Links: 2 bits per cell in the same layout as {@link BitfieldGrid}, i.e. byte i / 4 holds the eastern link of
+ * cell i at bit 2 * (i % 4) and its southern link at bit 2 * (i % 4) + 1. Links leading off the grid, i.e. eastern
+ * links in the last column and southern links in the last row, are ignored when reading.
+ *
+ * Opened files are memory-mapped and their grid is read lazily through a {@link MappedMazeGrid}, so no Cell
+ * objects are created unless the file is explicitly converted with {@link MazeFile#toMaze}.
+ */
+public class MazeFile {
+    private static final int MAGIC = 0x455A414D;   //"MAZE"
+    private static final short VERSION = 1;
+    private static final short HAS_SEED = 0b01;
+    private static final int HEADER_SIZE = 34;      //Excluding the algorithm type's name
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final MazeGrid grid;
+    private final int entranceIndex, exitIndex;
+    private final Optional<MazeGenAlgorithmType> algorithmType;
+    private final Optional<Long> seed;
+
+    /**
+     * Constructs maze file for the provided grid and goals.
+     * @param grid Grid of the maze.
+     * @param entranceIndex Index of the maze's entrance cell.
+     * @param exitIndex Index of the maze's exit cell.
+     * @param algorithmType Type of the algorithm that generated the maze, if known.
+     * @param seed Seed that the maze was generated from, if any.
+     * @throws IllegalArgumentException If either goal is not a cell of the grid.
+     */
+    public MazeFile(MazeGrid grid, int entranceIndex, int exitIndex, Optional<MazeGenAlgorithmType> algorithmType, Optional<Long> seed){
+        if(entranceIndex < 0 || entranceIndex >= grid.getCellCount() || exitIndex < 0 || exitIndex >= grid.getCellCount()){
+            throw new IllegalArgumentException("Entrance %s and exit %s must be cells of a grid with %s cells"
+                .formatted(entranceIndex, exitIndex, grid.getCellCount()));
+        }
+
+        this.grid = grid;
+        this.entranceIndex = entranceIndex;
+        this.exitIndex = exitIndex;
+        this.algorithmType = algorithmType;
+        this.seed = seed;
+    }
+
+    /**
+     * Constructs maze file for the provided maze.
+     * @param maze The maze.
+     * @return The maze file.
+     */
+    public static MazeFile of(Maze maze){
+        final var grid = maze.getGrid();
+        return new MazeFile(grid, grid.indexOf(maze.getStartCell()), grid.indexOf(maze.getEndCell()),
+            maze.getAlgorithmType(), maze.getSeed());
+    }
+
+    /**
+     * Opens the maze file at the provided path. The file is memory-mapped rather than read, so this returns
+     * immediately regardless of the size of the maze.
+     * @param path Path of the file.
+     * @return The maze file. Its grid is read-only.
+     * @throws IOException If the file cannot be read or is not a valid maze file.
+     */
+    public static MazeFile open(Path path) throws IOException {
+        try(final var channel = FileChannel.open(path, StandardOpenOption.READ)){
+            //The mapping remains valid after the channel is closed
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a maze file from the provided buffer, starting at its position. The links are not copied, so the
+     * returned grid reads from the buffer.
+     * @param buffer Buffer containing the maze file.
+     * @return The maze file. Its grid is read-only.
+     * @throws IOException If the buffer does not contain a valid maze file.
+     */
+    public static MazeFile read(ByteBuffer buffer) throws IOException {
+        final var input = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if(input.remaining() < HEADER_SIZE || input.getInt() != MAGIC){
+            throw new IOException("Not a maze file");
+        }
+        final var version = input.getShort();
+        if(version != VERSION){
+            throw new IOException("Unsupported maze file version %s".formatted(version));
+        }
+
+        final var flags = input.getShort();
+        final var rowCount = input.getInt();
+        final var colCount = input.getInt();
+        final var seed = input.getLong();
+        final var entranceIndex = input.getInt();
+        final var exitIndex = input.getInt();
+        final var algorithmType = readAlgorithmType(input);
+
+        if(rowCount <= 0 || colCount <= 0 || (long) rowCount * colCount > Integer.MAX_VALUE){
+            throw new IOException("Invalid maze size %sx%s".formatted(rowCount, colCount));
+        }
+        final var byteCount = MappedMazeGrid.getByteCount(rowCount, colCount);
+        if(input.remaining() < byteCount){
+            throw new IOException("Maze file is truncated, expected %s bytes of links but found %s"
+                .formatted(byteCount, input.remaining()));
+        }
+        final var links = input.slice(input.position(), (int) byteCount);
+
+        try{
+            return new MazeFile(new MappedMazeGrid(rowCount, colCount, links), entranceIndex, exitIndex, algorithmType,
+                (flags & HAS_SEED) != 0 ? Optional.of(seed) : Optional.empty());
+        }
+        catch(IllegalArgumentException e){
+            throw new IOException("Invalid maze file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the length-prefixed name of the algorithm type.
+     * @param input Buffer positioned at the name's length.
+     * @return Optional containing the algorithm type, or an empty Optional if the name is empty.
+     * @throws IOException If the name is not that of a known algorithm type.
+     */
+    private static Optional<MazeGenAlgorithmType> readAlgorithmType(ByteBuffer input) throws IOException {
+        final var nameLength = Short.toUnsignedInt(input.getShort());
+        if(nameLength == 0){
+            return Optional.empty();
+        }
+        if(input.remaining() < nameLength){
+            throw new IOException("Not a maze file");
+        }
+
+        final var name = new byte[nameLength];
+        input.get(name);
+        try{
+            return Optional.of(MazeGenAlgorithmType.valueOf(new String(name, StandardCharsets.US_ASCII)));
+        }
+        catch(IllegalArgumentException e){
+            throw new IOException("Unknown maze-generation algorithm in maze file", e);
+        }
+    }
+
+    /**
+     * Writes the maze file to the provided path, replacing any existing file.
+     * @param path Path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        try(final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            this.writeTo(channel);
+        }
+    }
+
+    /**
+     * Writes the maze file to the provided stream.
+     * @param output Stream to write to. It is not flushed or closed.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        this.writeTo(Channels.newChannel(output));
+    }
+
+    /**
+     * Writes the maze file to the provided channel. The links are written in fixed-size chunks, so writing uses
+     * the same amount of memory regardless of the size of the maze.
+     * @param channel Channel to write to. It is not closed.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        final var name = this.algorithmType
+            .map((var type) -> type.name().getBytes(StandardCharsets.US_ASCII))
+            .orElse(new byte[0]);
+
+        final var header = ByteBuffer.allocate(HEADER_SIZE + name.length).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(MAGIC)
+            .putShort(VERSION)
+            .putShort(this.seed.isPresent() ? HAS_SEED : 0)
+            .putInt(this.grid.getRowCount())
+            .putInt(this.grid.getColumnCount())
+            .putLong(this.seed.orElse(0L))
+            .putInt(this.entranceIndex)
+            .putInt(this.exitIndex)
+            .putShort((short) name.length)
+            .put(name);
+        writeFully(channel, header.flip());
+
+        //Links are gathered a word of 32 cells at a time
+        final var chunk = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        final var byteCount = MappedMazeGrid.getByteCount(this.grid.getRowCount(), this.grid.getColumnCount());
+        var written = 0L;
+        for(var word = 0; written < byteCount; word++){
+            final var bytes = (int) Math.min(Long.BYTES, byteCount - written);
+            if(chunk.remaining() < Long.BYTES){
+                writeFully(channel, chunk.flip());
+                chunk.clear();
+            }
+
+            final var bits = this.linkWord(word);
+            for(var i = 0; i < bytes; i++){
+                chunk.put((byte) (bits >>> (i * Byte.SIZE)));
+            }
+            written += bytes;
+        }
+        writeFully(channel, chunk.flip());
+    }
+
+    /**
+     * Returns the link bits of the 32 cells starting at word * 32, in the layout of {@link BitfieldGrid#setLinkWord}.
+     * @param word Index of the word.
+     * @return Link bits of the word's cells.
+     */
+    private long linkWord(int word){
+        if(this.grid instanceof BitfieldGrid bitfieldGrid){
+            return bitfieldGrid.getLinkWord(word);
+        }
+
+        final var firstCell = word * BitfieldGrid.CELLS_PER_WORD;
+        final var endCell = (int) Math.min((long) firstCell + BitfieldGrid.CELLS_PER_WORD, this.grid.getCellCount());
+        var bits = 0L;
+        for(var cell = firstCell; cell < endCell; cell++){
+            final var shift = (cell - firstCell) * 2;
+            final var east = this.grid.east(cell);
+            final var south = this.grid.south(cell);
+            if(east != MazeGrid.NO_CELL && this.grid.isLinked(cell, east))   bits |= 1L << shift;
+            if(south != MazeGrid.NO_CELL && this.grid.isLinked(cell, south)) bits |= 2L << shift;
+        }
+        return bits;
+    }
+
+    /**
+     * Writes all of the remaining bytes of the buffer to the channel.
+     * @param channel Channel to write to.
+     * @param buffer Buffer to write.
+     * @throws IOException If the channel cannot be written to.
+     */
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Converts the maze file into a Maze, creating a Grid of Cell objects. Intended for mazes small enough to
+     * be displayed or solved through the Cell-based classes.
+     * @return The maze.
+     */
+    public Maze toMaze(){
+        final var mazeGrid = new Grid(this.grid.getRowCount(), this.grid.getColumnCount());
+        for(var cell = 0; cell < this.grid.getCellCount(); cell++){
+            final var east = this.grid.east(cell);
+            final var south = this.grid.south(cell);
+            if(east != MazeGrid.NO_CELL && this.grid.isLinked(cell, east))   mazeGrid.link(cell, east);
+            if(south != MazeGrid.NO_CELL && this.grid.isLinked(cell, south)) mazeGrid.link(cell, south);
+        }
+
+        final var entrance = new MazeGoal(mazeGrid.cellAt(this.entranceIndex), MazeGoalType.ENTRANCE);
+        final var exit = new MazeGoal(mazeGrid.cellAt(this.exitIndex), MazeGoalType.EXIT);
+        return new Maze(mazeGrid, new Pair<MazeGoal, MazeGoal>(entrance, exit), this.algorithmType, this.seed);
+    }
+
+    /**
+     * Get the grid of the maze.
+     * @return The grid. Read-only if the maze file was opened or read.
+     */
+    public MazeGrid getGrid(){
+        return this.grid;
+    }
+
+    /**
+     * Get the index of the maze's entrance cell.
+     * @return Index of the entrance.
+     */
+    public int getEntranceIndex(){
+        return this.entranceIndex;
+    }
+
+    /**
+     * Get the index of the maze's exit cell.
+     * @return Index of the exit.
+     */
+    public int getExitIndex(){
+        return this.exitIndex;
+    }
+
+    /**
+     * Get the type of the algorithm that generated the maze.
+     * @return Optional containing the algorithm type, if known.
+     */
+    public Optional<MazeGenAlgorithmType> getAlgorithmType(){
+        return this.algorithmType;
+    }
+
+    /**
+     * Get the seed that the maze was generated from.
+     * @return Optional containing the seed, if any.
+     */
+    public Optional<Long> getSeed(){
+        return this.seed;
+    }
+}
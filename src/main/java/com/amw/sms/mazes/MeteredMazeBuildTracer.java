@@ -0,0 +1,44 @@
+package com.amw.sms.mazes;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the phases of every maze build as the {@value MeteredMazeBuildTracer#METRIC} timer, tagged by phase.
+ * Only active when the maze.build.tracing property is true, in which case the builders created by
+ * {@link MazeBuilderFactory} use it.
+ */
+@Component
+@ConditionalOnProperty(name = "maze.build.tracing", havingValue = "true")
+public class MeteredMazeBuildTracer implements MazeBuildTracer {
+    /**
+     * Name of the timer of the build phases.
+     */
+    public static final String METRIC = "maze.build";
+
+    private final Map<MazeBuildPhase, Timer> timers = new EnumMap<>(MazeBuildPhase.class);
+
+    /**
+     * Constructs new MeteredMazeBuildTracer.
+     * @param meterRegistry Registry of the timers.
+     */
+    @Autowired
+    public MeteredMazeBuildTracer(MeterRegistry meterRegistry){
+        for(final var phase : MazeBuildPhase.values()){
+            this.timers.put(phase, meterRegistry.timer(METRIC, "phase", phase.name().toLowerCase()));
+        }
+    }
+
+    @Override
+    public void phaseCompleted(MazeBuildPhase phase, Duration duration){
+        this.timers.get(phase).record(duration);
+    }
+}
@@ -3,6 +3,7 @@ package com.amw.sms.mazes.goals;
 import com.amw.sms.algorithms.AlgorithmFactory;
 import com.amw.sms.algorithms.Dijkstra;
 import com.amw.sms.grid.Cell;
+import com.amw.sms.grid.CellDistances;
 import com.amw.sms.grid.Grid;
 import com.amw.sms.mazes.InvalidMazeException;
 
@@ -100,6 +101,16 @@ public class MazeGoalBuilder {
         return this.build(furthestCell);
     }
 
+    /**
+     * Builds the maze goal at the cell furthest from the root of already computed distances.
+     * Unlike {@link #farthestFrom}, this does not search the grid.
+     * @param distances Distances from some root cell. The maze goal will be set at the cell furthest from that root.
+     * @return The built maze-goal.
+     */
+    public MazeGoal farthestIn(CellDistances distances){
+        return this.build(distances.getFurthestCell());
+    }
+
     /**
      * Build the maze goal. Used internally within all other build methods. 
      * Privated as it should not be used by external classes. Maze goals must be built using one
@@ -0,0 +1,77 @@
+package com.amw.sms.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Scratch buffers for searches over grids, reused across calls while keeping the memory they hold bounded.
+ *
+ * Searches of grids of up to a retained number of cells use buffers kept per thread, so every thread holds at most
+ * one small set of buffers. Searches of larger grids check buffers out of a small pool shared by every thread, and
+ * return them when done. The pool keeps at most a fixed number of buffers; buffers checked out while it is empty are
+ * created for the search and dropped when returned to a full pool. Repeatedly searching large grids therefore only
+ * allocates while more searches run at once than the pool holds.
+ *
+ * Buffers grow as needed by the caller, e.g. after they are acquired, and are never shrunk.
+ * @param <T> Type of the buffers.
+ */
+public final class BufferPool<T> {
+    private final int retainedCells;
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> threadBuffers;
+    private final ArrayBlockingQueue<T> sharedBuffers;
+    private final LongAdder createdCount = new LongAdder();
+
+    /**
+     * Constructs pool of buffers.
+     * @param retainedCells Largest grid, in cells, whose buffers are kept per thread.
+     * @param sharedCount Number of buffers for larger grids kept in the shared pool.
+     * @param factory Creates empty buffers.
+     */
+    public BufferPool(int retainedCells, int sharedCount, Supplier<T> factory){
+        this.retainedCells = retainedCells;
+        this.factory = factory;
+        this.threadBuffers = ThreadLocal.withInitial(this::create);
+        this.sharedBuffers = new ArrayBlockingQueue<>(sharedCount);
+    }
+
+    /**
+     * Returns buffers for searching a grid. They must be passed to {@link BufferPool#release} once the search is done,
+     * and not used afterwards.
+     * @param cellCount Number of cells in the grid.
+     * @return The buffers. They may still have to be grown to fit the grid.
+     */
+    public T acquire(int cellCount){
+        if(cellCount <= this.retainedCells){
+            return this.threadBuffers.get();
+        }
+
+        final var buffers = this.sharedBuffers.poll();
+        return buffers != null ? buffers : this.create();
+    }
+
+    /**
+     * Returns buffers acquired for searching a grid.
+     * @param buffers The buffers.
+     * @param cellCount Number of cells in the grid they were acquired for.
+     */
+    public void release(T buffers, int cellCount){
+        if(cellCount > this.retainedCells){
+            this.sharedBuffers.offer(buffers);
+        }
+    }
+
+    /**
+     * Returns the number of buffers the pool has created, per thread or shared.
+     * @return Number of created buffers.
+     */
+    public long getCreatedCount(){
+        return this.createdCount.sum();
+    }
+
+    private T create(){
+        this.createdCount.increment();
+        return this.factory.get();
+    }
+}
@@ -1,21 +1,32 @@
 package com.amw.sms.util;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class CoinFlip {
     private final int headsLikelihood;
-    private final Random rng;
+    private final RandomGenerator rng;
 
     public CoinFlip(){
         this(50);
     }
 
     public CoinFlip(int headsLikelihood){
+        this(headsLikelihood, new Random());
+    }
+
+    /**
+     * Constructs coin that draws its flips from the provided random number generator.
+     * Used when the flips need to be reproducible, e.g. from a seeded generator.
+     * @param headsLikelihood Chance, in percent, of the coin landing on heads.
+     * @param rng Random number generator to flip the coin with.
+     */
+    public CoinFlip(int headsLikelihood, RandomGenerator rng){
         if(headsLikelihood < 0) headsLikelihood = 0;
         else if(headsLikelihood > 100) headsLikelihood = 100;
         this.headsLikelihood = headsLikelihood;
 
-        this.rng = new Random();
+        this.rng = rng;
     }
 
     public boolean isHeads(){
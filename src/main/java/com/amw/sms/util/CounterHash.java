@@ -0,0 +1,27 @@
+package com.amw.sms.util;
+
+/**
+ * Counter-based random numbers. Instead of drawing numbers one after the other from a generator, the n-th number
+ * of a stream is computed directly from the stream's seed and n. Numbers can therefore be computed in any order,
+ * and from any number of threads, while always giving the same results for the same seed.
+ *
+ * Uses the SplitMix64 mixing function, the same one used by {@link java.util.SplittableRandom}.
+ */
+public final class CounterHash {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private CounterHash(){}
+
+    /**
+     * Returns the random number at the provided position of the seed's stream.
+     * @param seed Seed of the stream.
+     * @param counter Position within the stream.
+     * @return Random 64-bit number.
+     */
+    public static long hash(long seed, long counter){
+        var z = seed + (counter + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,152 @@
+package com.amw.sms.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min-heap of int ids, each with a long priority. Ids range from 0 to the heap's capacity, e.g. the
+ * indexes of a grid's cells. The position of every id within the heap is kept, so the priority of an id already in
+ * the heap can be lowered in place instead of adding it again.
+ *
+ * Everything is stored in primitive arrays, so adding and removing ids never allocates or boxes.
+ */
+public class IntMinHeap {
+    private static final int ABSENT = -1;
+
+    private final int[] heap;           //Ids, ordered as a binary heap
+    private final int[] positions;      //Position of each id in the heap, or ABSENT
+    private final long[] priorities;    //Priority of each id in the heap
+    private int size = 0;
+
+    /**
+     * Constructs empty heap.
+     * @param capacity Number of ids, i.e. every id must be less than this.
+     */
+    public IntMinHeap(int capacity){
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.priorities = new long[capacity];
+        Arrays.fill(this.positions, ABSENT);
+    }
+
+    /**
+     * Adds id to the heap, or lowers its priority if it is already in the heap with a higher one.
+     * @param id The id.
+     * @param priority Priority of the id. Lower priorities are removed first.
+     * @return true if the id was added or its priority was lowered.
+     */
+    public boolean offer(int id, long priority){
+        final var position = this.positions[id];
+        if(position == ABSENT){
+            this.heap[this.size] = id;
+            this.positions[id] = this.size;
+            this.priorities[id] = priority;
+            this.siftUp(this.size++);
+            return true;
+        }
+        if(priority < this.priorities[id]){
+            this.priorities[id] = priority;
+            this.siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the id with the lowest priority.
+     * @return The removed id.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int poll(){
+        if(this.size == 0) throw new NoSuchElementException("Heap is empty");
+
+        final var id = this.heap[0];
+        this.positions[id] = ABSENT;
+        final var last = this.heap[--this.size];
+        if(this.size > 0){
+            this.heap[0] = last;
+            this.positions[last] = 0;
+            this.siftDown(0);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the lowest priority in the heap.
+     * @return Priority of the id that would be removed next.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public long peekPriority(){
+        if(this.size == 0) throw new NoSuchElementException("Heap is empty");
+        return this.priorities[this.heap[0]];
+    }
+
+    /**
+     * Indicates whether an id is in the heap.
+     * @param id The id.
+     * @return true if the id is in the heap.
+     */
+    public boolean contains(int id){
+        return this.positions[id] != ABSENT;
+    }
+
+    public boolean isEmpty(){
+        return this.size == 0;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public int capacity(){
+        return this.heap.length;
+    }
+
+    /**
+     * Removes every id from the heap. Only touches the ids that were in it.
+     */
+    public void clear(){
+        for(var i = 0; i < this.size; i++){
+            this.positions[this.heap[i]] = ABSENT;
+        }
+        this.size = 0;
+    }
+
+    private void siftUp(int position){
+        final var id = this.heap[position];
+        final var priority = this.priorities[id];
+        while(position > 0){
+            final var parentPosition = (position - 1) >>> 1;
+            final var parent = this.heap[parentPosition];
+            if(this.priorities[parent] <= priority) break;
+
+            this.heap[position] = parent;
+            this.positions[parent] = position;
+            position = parentPosition;
+        }
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+
+    private void siftDown(int position){
+        final var id = this.heap[position];
+        final var priority = this.priorities[id];
+        final var half = this.size >>> 1;
+        while(position < half){
+            var childPosition = 2 * position + 1;
+            var child = this.heap[childPosition];
+            final var rightPosition = childPosition + 1;
+            if(rightPosition < this.size && this.priorities[this.heap[rightPosition]] < this.priorities[child]){
+                childPosition = rightPosition;
+                child = this.heap[rightPosition];
+            }
+            if(priority <= this.priorities[child]) break;
+
+            this.heap[position] = child;
+            this.positions[child] = position;
+            position = childPosition;
+        }
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+}
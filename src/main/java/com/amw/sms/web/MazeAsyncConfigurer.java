@@ -0,0 +1,27 @@
+package com.amw.sms.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Streams the web service's response bodies on the maze stream executor, so that slow clients neither hold
+ * the server's request threads nor the threads generating mazes.
+ * @see MazeWebConfiguration
+ */
+@Configuration
+@Profile("web")
+public class MazeAsyncConfigurer implements WebMvcConfigurer {
+    @Autowired
+    @Qualifier("mazeStreamExecutor")
+    private AsyncTaskExecutor mazeStreamExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer){
+        configurer.setTaskExecutor(this.mazeStreamExecutor);
+    }
+}
@@ -0,0 +1,202 @@
+package com.amw.sms.web;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.ImageIO;
+
+import com.amw.sms.mazes.InvalidMazeException;
+import com.amw.sms.mazes.Maze;
+import com.amw.sms.mazes.MazeFile;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST endpoints of the maze web service. Only active with the "web" profile.
+ *
+ * Mazes are described by the query parameters of {@link MazeRequest}. Every response carries the maze's seed
+ * in the {@value MazeController#SEED_HEADER} header, so a maze generated from a random seed can be requested again.
+ * Mazes are generated and solved on the bounded maze executor and their responses are then streamed on
+ * the stream executor (see {@link MazeWebConfiguration}).
+ */
+@RestController
+@RequestMapping("/mazes")
+@Profile("web")
+public class MazeController {
+    /**
+     * Response header containing the seed of the returned maze.
+     */
+    public static final String SEED_HEADER = "X-Maze-Seed";
+
+    private final MazeService mazeService;
+    private final Executor mazeExecutor;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs new MazeController.
+     * @param mazeService Service generating and solving the mazes.
+     * @param mazeExecutor Executor to run the maze work on.
+     * @param objectMapper Mapper used to write JSON responses.
+     */
+    @Autowired
+    public MazeController(MazeService mazeService, @Qualifier("mazeExecutor") Executor mazeExecutor, ObjectMapper objectMapper){
+        this.mazeService = mazeService;
+        this.mazeExecutor = mazeExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Generates a maze.
+     * @param request Parameters of the maze.
+     * @param format Format of the response. One of text, png or binary (see {@link MazeFile}).
+     * @param cellSize Size of each cell in pixels, when rendering an image. Limited by maze.max-cell-size, and the
+     * image as a whole by maze.max-image-pixels.
+     * @return The rendered maze. 400 Bad Request if the format is json.
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> generate(MazeRequest request,
+            @RequestParam(defaultValue = "TEXT") MazeFormat format, @RequestParam(defaultValue = "10") int cellSize){
+        return this.submit(() -> {
+            if(format == MazeFormat.JSON){
+                throw new InvalidMazeException("Mazes cannot be generated as JSON, only their solutions");
+            }
+            this.checkImageSize(request, format, cellSize);
+            final var maze = this.mazeService.generate(request, false);
+            return this.respond(maze, format, this.render(maze, format, cellSize));
+        });
+    }
+
+    /**
+     * Generates and solves a maze.
+     * @param request Parameters of the maze.
+     * @param format Format of the response. Either json, which returns the path between the entrance and the exit
+     * (see {@link MazeSolution}), or text or png, which render the maze with the distances along that path.
+     * @param cellSize Size of each cell in pixels, when rendering an image. Limited as for {@link MazeController#generate}.
+     * @return The solution or the rendered, solved maze.
+     */
+    @GetMapping("/solution")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> solve(MazeRequest request,
+            @RequestParam(defaultValue = "JSON") MazeFormat format, @RequestParam(defaultValue = "10") int cellSize){
+        return this.submit(() -> {
+            this.checkImageSize(request, format, cellSize);
+            final var maze = this.mazeService.generate(request, format != MazeFormat.JSON);
+            final var solution = this.mazeService.solve(maze);
+
+            final StreamingResponseBody body = format == MazeFormat.JSON
+                ?   (var output) -> this.objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(output, solution)
+                :   this.render(maze, format, cellSize);
+            return this.respond(maze, format, body);
+        });
+    }
+
+    /**
+     * Rejects requests whose parameters do not describe a valid maze.
+     * @param exception The exception.
+     * @return 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidMazeException.class)
+    public ResponseEntity<String> handleInvalidMaze(InvalidMazeException exception){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
+    /**
+     * Rejects requests while the maze executor is saturated.
+     * @param exception The exception.
+     * @return 503 Service Unavailable.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException exception){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many maze requests, try again later");
+    }
+
+    /**
+     * Runs the task on the maze executor.
+     * @param task Task to run.
+     * @return Future completed with the result of the task, or exceptionally with whatever it threw.
+     * @throws RejectedExecutionException If the executor cannot accept the task.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> task){
+        final var future = new CompletableFuture<T>();
+        this.mazeExecutor.execute(() -> {
+            try{
+                future.complete(task.call());
+            }
+            catch(Exception e){
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Checks that the requested image can be rendered, if the response is an image.
+     * @param request Parameters of the maze.
+     * @param format Format of the response.
+     * @param cellSize Size of each cell in pixels.
+     * @throws InvalidMazeException If the image is too large or its cell size is invalid.
+     */
+    private void checkImageSize(MazeRequest request, MazeFormat format, int cellSize) throws InvalidMazeException {
+        if(format == MazeFormat.PNG){
+            this.mazeService.checkImageSize(request, cellSize);
+        }
+    }
+
+    /**
+     * Creates the response for a maze.
+     * @param maze The maze.
+     * @param format Format of the response.
+     * @param body Body of the response, written once the response is committed.
+     * @return The response.
+     */
+    private ResponseEntity<StreamingResponseBody> respond(Maze maze, MazeFormat format, StreamingResponseBody body){
+        final var response = ResponseEntity.ok().contentType(format.getMediaType());
+        maze.getSeed().ifPresent((var seed) -> response.header(SEED_HEADER, seed.toString()));
+        return response.body(body);
+    }
+
+    /**
+     * Returns body writing the maze in the provided format. Any CPU-heavy preparation, like drawing the image,
+     * is done right away so that only the writing is left to the thread streaming the response.
+     * @param maze Maze to write.
+     * @param format Format to write it in.
+     * @param cellSize Size of each cell in pixels, when rendering an image.
+     * @return The body.
+     */
+    private StreamingResponseBody render(Maze maze, MazeFormat format, int cellSize){
+        return switch(format){
+            case TEXT -> (var output) -> {
+                final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                maze.write(writer);
+                writer.flush();
+            };
+            case PNG -> {
+                final var image = maze.getGrid().toImage("maze", cellSize).getBufferedImage();
+                yield (var output) -> ImageIO.write(image, "png", output);
+            }
+            case BINARY -> {
+                final var mazeFile = MazeFile.of(maze);
+                yield mazeFile::writeTo;
+            }
+            case JSON -> throw new IllegalArgumentException("Mazes cannot be rendered as JSON");
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.amw.sms.web;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The formats that mazes can be returned in by the web service.
+ */
+public enum MazeFormat {
+    TEXT(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8)),
+    PNG(MediaType.IMAGE_PNG),
+    BINARY(MediaType.APPLICATION_OCTET_STREAM),
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    private MazeFormat(MediaType mediaType){
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Get the content type of responses in this format.
+     * @return The media type.
+     */
+    public MediaType getMediaType(){
+        return this.mediaType;
+    }
+}
@@ -0,0 +1,21 @@
+package com.amw.sms.web;
+
+/**
+ * The ways in which the web service can place a maze's entrance and exit.
+ */
+public enum MazeGoalStrategy {
+    /**
+     * Entrance at the first cell and exit at the last cell.
+     */
+    FIRST_TO_LAST,
+
+    /**
+     * Entrance and exit at the ends of the longest path.
+     */
+    LONGEST_PATH,
+
+    /**
+     * Entrance and exit at random cells.
+     */
+    RANDOM
+}
@@ -0,0 +1,62 @@
+package com.amw.sms.web;
+
+import java.util.Optional;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+
+/**
+ * Parameters of a maze requested from the web service. Bound from the request's query parameters.
+ * Since a maze is fully determined by these parameters once it has a seed, the same request with the
+ * same seed always returns the same maze.
+ */
+public class MazeRequest {
+    private int rows;
+    private int columns;
+    private MazeGenAlgorithmType algorithm = MazeGenAlgorithmType.SIDEWINDER;
+    private Optional<Long> seed = Optional.empty();
+    private MazeGoalStrategy goals = MazeGoalStrategy.FIRST_TO_LAST;
+
+    public int getRows(){
+        return this.rows;
+    }
+
+    public void setRows(int rows){
+        this.rows = rows;
+    }
+
+    public int getColumns(){
+        return this.columns;
+    }
+
+    public void setColumns(int columns){
+        this.columns = columns;
+    }
+
+    public MazeGenAlgorithmType getAlgorithm(){
+        return this.algorithm;
+    }
+
+    public void setAlgorithm(MazeGenAlgorithmType algorithm){
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Get the seed of the maze.
+     * @return Optional containing the seed. Returns an empty Optional if a random seed should be chosen.
+     */
+    public Optional<Long> getSeed(){
+        return this.seed;
+    }
+
+    public void setSeed(Long seed){
+        this.seed = Optional.ofNullable(seed);
+    }
+
+    public MazeGoalStrategy getGoals(){
+        return this.goals;
+    }
+
+    public void setGoals(MazeGoalStrategy goals){
+        this.goals = goals;
+    }
+}
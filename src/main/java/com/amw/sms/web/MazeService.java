@@ -0,0 +1,114 @@
+package com.amw.sms.web;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.amw.sms.algorithms.AlgorithmFactory;
+import com.amw.sms.grid.GridImageRenderer;
+import com.amw.sms.mazes.InvalidMazeException;
+import com.amw.sms.mazes.Maze;
+import com.amw.sms.mazes.MazeBuilderFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates and solves the mazes requested from the web service.
+ */
+@Service
+public class MazeService {
+    private final MazeBuilderFactory mazeBuilderFactory;
+    private final AlgorithmFactory algorithmFactory;
+    private final long maxCells;
+    private final int maxCellSize;
+    private final long maxImagePixels;
+
+    /**
+     * Constructs new MazeService.
+     * @param mazeBuilderFactory Factory for the builders of requested mazes.
+     * @param algorithmFactory Factory for the algorithm used to solve mazes.
+     * @param maxCells Largest number of cells a requested maze can have.
+     * @param maxCellSize Largest size, in pixels, of the cells of a requested image.
+     * @param maxImagePixels Largest number of pixels a requested image can have.
+     */
+    @Autowired
+    public MazeService(MazeBuilderFactory mazeBuilderFactory, AlgorithmFactory algorithmFactory,
+            @Value("${maze.max-cells:1000000}") long maxCells,
+            @Value("${maze.max-cell-size:50}") int maxCellSize,
+            @Value("${maze.max-image-pixels:50000000}") long maxImagePixels){
+        this.mazeBuilderFactory = mazeBuilderFactory;
+        this.algorithmFactory = algorithmFactory;
+        this.maxCells = maxCells;
+        this.maxCellSize = maxCellSize;
+        this.maxImagePixels = maxImagePixels;
+    }
+
+    /**
+     * Checks that an image of the requested maze can be rendered, before the maze is generated.
+     * @param request Parameters of the maze.
+     * @param cellSize Size of each cell in pixels.
+     * @throws InvalidMazeException If the cell size is out of range or the image would have too many pixels.
+     */
+    public void checkImageSize(MazeRequest request, int cellSize) throws InvalidMazeException {
+        if(cellSize <= 0 || cellSize > this.maxCellSize){
+            throw new InvalidMazeException("Cell size of %s pixels is outside of the range 1 to %s"
+                .formatted(cellSize, this.maxCellSize));
+        }
+
+        final var pixels = GridImageRenderer.getPixelCount(request.getRows(), request.getColumns(), cellSize);
+        if(pixels > this.maxImagePixels){
+            throw new InvalidMazeException("Image of %sx%s cells of %s pixels exceeds the maximum of %s pixels"
+                .formatted(request.getRows(), request.getColumns(), cellSize, this.maxImagePixels));
+        }
+    }
+
+    /**
+     * Generates the requested maze. If the request has no seed, a random one is chosen and recorded in the maze.
+     * @param request Parameters of the maze.
+     * @param showDistances Whether the maze displays the distance of each cell from its entrance.
+     * @return The maze.
+     * @throws InvalidMazeException If the request's parameters are invalid, e.g. the maze is too large.
+     */
+    public Maze generate(MazeRequest request, boolean showDistances) throws InvalidMazeException {
+        if((long) request.getRows() * request.getColumns() > this.maxCells){
+            throw new InvalidMazeException("Maze of %sx%s exceeds the maximum of %s cells"
+                .formatted(request.getRows(), request.getColumns(), this.maxCells));
+        }
+
+        final var seed = request.getSeed().orElseGet(() -> ThreadLocalRandom.current().nextLong());
+        final var builder = this.mazeBuilderFactory.create()
+            .withSize(request.getRows(), request.getColumns())
+            .usingAlgorithm(request.getAlgorithm())
+            .withSeed(seed);
+
+        switch(request.getGoals()){
+            case LONGEST_PATH -> builder.usingLongestPath();
+            case RANDOM -> builder.usingRandomStart().usingRandomEnd();
+            case FIRST_TO_LAST -> {}
+        }
+        if(showDistances){
+            builder.showDistances();
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Solves the maze, displaying the solution within it.
+     * @param maze Maze to solve.
+     * @return The solution.
+     */
+    public MazeSolution solve(Maze maze){
+        final var grid = maze.getGrid();
+        final var entrance = grid.indexOf(maze.getStartCell());
+        final var exit = grid.indexOf(maze.getEndCell());
+        final var solvingAlgorithm = this.algorithmFactory.getSolvingAlgorithm();
+
+        final var path = solvingAlgorithm.getSolutionIndexes(maze);
+        maze.displayPath(Arrays.stream(path).mapToObj(grid::cellAt).toList());
+
+        return new MazeSolution(grid.getRowCount(), grid.getColumnCount(), maze.getAlgorithmType().orElse(null),
+            maze.getSeed(), entrance, exit, path);
+    }
+}
@@ -0,0 +1,64 @@
+package com.amw.sms.web;
+
+import java.util.Optional;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+
+/**
+ * Solution of a maze, as returned by the web service in JSON. Cells are identified by their row-major index.
+ */
+public class MazeSolution {
+    private final int rows, columns;
+    private final MazeGenAlgorithmType algorithm;
+    private final Long seed;
+    private final int entrance, exit;
+    private final int[] path;
+
+    /**
+     * Constructs solution of a maze.
+     * @param rows Number of rows of the maze.
+     * @param columns Number of columns of the maze.
+     * @param algorithm Algorithm that generated the maze.
+     * @param seed Seed that the maze was generated from, if any.
+     * @param entrance Index of the entrance cell.
+     * @param exit Index of the exit cell.
+     * @param path Indexes of the cells on the path from the entrance to the exit.
+     */
+    public MazeSolution(int rows, int columns, MazeGenAlgorithmType algorithm, Optional<Long> seed, int entrance, int exit, int[] path){
+        this.rows = rows;
+        this.columns = columns;
+        this.algorithm = algorithm;
+        this.seed = seed.orElse(null);
+        this.entrance = entrance;
+        this.exit = exit;
+        this.path = path;
+    }
+
+    public int getRows(){
+        return this.rows;
+    }
+
+    public int getColumns(){
+        return this.columns;
+    }
+
+    public MazeGenAlgorithmType getAlgorithm(){
+        return this.algorithm;
+    }
+
+    public Long getSeed(){
+        return this.seed;
+    }
+
+    public int getEntrance(){
+        return this.entrance;
+    }
+
+    public int getExit(){
+        return this.exit;
+    }
+
+    public int[] getPath(){
+        return this.path;
+    }
+}
@@ -0,0 +1,18 @@
+package com.amw.sms.web;
+
+/**
+ * Kind of threads that the web service handles requests and streams responses on.
+ * Generating and solving mazes always runs on the bounded maze executor, whichever mode is used.
+ */
+public enum MazeThreadMode {
+    /**
+     * Platform threads from bounded pools.
+     */
+    PLATFORM,
+
+    /**
+     * A new virtual thread for each task. Needs Java 21 or later; on older runtimes a warning is logged at startup
+     * and it falls back to {@link #PLATFORM}.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,144 @@
+package com.amw.sms.web;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the maze web service. Only active with the "web" profile.
+ *
+ * Generating and solving mazes is CPU-bound, so it runs on a bounded executor sized to the available processors
+ * rather than on the server's request threads. Once its threads are busy and its queue is full, further requests
+ * are rejected with 503 Service Unavailable instead of piling up. Streaming responses to clients only blocks on I/O,
+ * so it runs on a separate stream executor.
+ *
+ * The threads that requests are handled and streamed on are chosen by the maze.web.threads property
+ * (see {@link MazeThreadMode}). With virtual threads, slow clients cost no platform threads at all. They need Java 21
+ * or later; on older runtimes a warning is logged at startup and platform threads are used instead.
+ *
+ * The queue depth and activity of both pools are published by the actuator as the "executor.*" metrics,
+ * and rejected tasks are counted by the {@value MazeWebConfiguration#REJECTED_METRIC} metric.
+ * @see MazeAsyncConfigurer
+ */
+@Configuration
+@Profile("web")
+public class MazeWebConfiguration {
+    /**
+     * Name of the counter of tasks rejected by the maze executors.
+     */
+    public static final String REJECTED_METRIC = "maze.executor.rejected";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MazeWebConfiguration.class);
+
+    /**
+     * Creates the executor that mazes are generated and solved on.
+     * @param threads Number of threads. 0 uses one thread per available processor.
+     * @param queueCapacity Number of requests that can wait for a thread before requests are rejected.
+     * @param meterRegistry Registry of the rejection counter.
+     * @return The executor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mazeExecutor(@Value("${maze.executor.threads:0}") int threads,
+            @Value("${maze.executor.queue-capacity:100}") int queueCapacity, MeterRegistry meterRegistry){
+        final var poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return this.createPool("maze-", poolSize, queueCapacity, this.countingRejections("mazeExecutor", meterRegistry));
+    }
+
+    /**
+     * Creates the executor that responses are streamed on.
+     * @param mode Kind of threads to stream responses on.
+     * @param threads Number of platform threads, when not using virtual threads.
+     * @param queueCapacity Number of responses that can wait for a platform thread before requests are rejected.
+     * @param meterRegistry Registry of the rejection counter.
+     * @return The executor.
+     */
+    @Bean
+    public AsyncTaskExecutor mazeStreamExecutor(@Value("${maze.web.threads:platform}") MazeThreadMode mode,
+            @Value("${maze.executor.stream-threads:200}") int threads,
+            @Value("${maze.executor.queue-capacity:100}") int queueCapacity, MeterRegistry meterRegistry){
+        return this.virtualThreadExecutor(mode, "streaming responses")
+            .<AsyncTaskExecutor>map(TaskExecutorAdapter::new)
+            .orElseGet(() -> this.createPool("maze-stream-", threads, queueCapacity,
+                this.countingRejections("mazeStreamExecutor", meterRegistry)));
+    }
+
+    /**
+     * Makes the server handle requests on virtual threads, if they are enabled and available.
+     * @param mode Kind of threads to handle requests on.
+     * @return Customizer of the server's protocol handler.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> mazeRequestThreads(@Value("${maze.web.threads:platform}") MazeThreadMode mode){
+        final var executor = this.virtualThreadExecutor(mode, "handling requests");
+        return (var protocolHandler) -> executor.ifPresent(protocolHandler::setExecutor);
+    }
+
+    /**
+     * Returns executor running each task on a new virtual thread. Logs a warning if virtual threads are configured
+     * but the runtime has none.
+     * @param mode Configured kind of threads.
+     * @param use What the threads are used for, for the warning.
+     * @return Optional containing the executor. Returns an empty Optional if platform threads should be used,
+     * either because they are configured or because the runtime has no virtual threads.
+     */
+    private Optional<Executor> virtualThreadExecutor(MazeThreadMode mode, String use){
+        if(mode != MazeThreadMode.VIRTUAL){
+            return Optional.empty();
+        }
+
+        final var executor = VirtualThreads.newThreadPerTaskExecutor();
+        if(executor.isEmpty()){
+            LOGGER.warn("maze.web.threads=virtual needs Java 21 or later, but Java {} has no virtual threads. "
+                + "Using platform threads for {} instead.", Runtime.version().feature(), use);
+        }
+        return executor;
+    }
+
+    /**
+     * Creates a bounded pool of platform threads.
+     * @param threadNamePrefix Prefix of the names of the pool's threads.
+     * @param poolSize Number of threads.
+     * @param queueCapacity Number of tasks that can wait for a thread before tasks are rejected.
+     * @param rejectionHandler Handler of rejected tasks.
+     * @return The pool.
+     */
+    private ThreadPoolTaskExecutor createPool(String threadNamePrefix, int poolSize, int queueCapacity,
+            RejectedExecutionHandler rejectionHandler){
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectionHandler);
+        return executor;
+    }
+
+    /**
+     * Creates handler that counts rejected tasks before rejecting them.
+     * @param name Name of the executor, used to tag the counter.
+     * @param meterRegistry Registry of the counter.
+     * @return The handler.
+     */
+    private RejectedExecutionHandler countingRejections(String name, MeterRegistry meterRegistry){
+        final var rejected = meterRegistry.counter(REJECTED_METRIC, "name", name);
+        final var abort = new ThreadPoolExecutor.AbortPolicy();
+        return (var task, var executor) -> {
+            rejected.increment();
+            abort.rejectedExecution(task, executor);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.amw.sms.web;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads on runtimes that have them.
+ *
+ * The application targets Java 17, which has no virtual threads, so their API is looked up reflectively.
+ * On newer runtimes this returns a factory of virtual threads; on older ones it returns nothing and callers
+ * fall back to platform threads.
+ */
+final class VirtualThreads {
+    private static final Optional<ThreadFactory> FACTORY = lookupFactory();
+
+    private VirtualThreads(){}
+
+    /**
+     * Indicates whether the runtime supports virtual threads.
+     * @return true if virtual threads are available; false otherwise.
+     */
+    static boolean isSupported(){
+        return FACTORY.isPresent();
+    }
+
+    /**
+     * Returns executor that runs each task on a new virtual thread.
+     * @return Optional containing the executor. Returns an empty Optional if the runtime has no virtual threads.
+     */
+    static Optional<Executor> newThreadPerTaskExecutor(){
+        return FACTORY.map((var factory) -> (Runnable task) -> factory.newThread(task).start());
+    }
+
+    /**
+     * Looks up Thread.ofVirtual().factory().
+     * @return Optional containing the factory, or an empty Optional if it does not exist.
+     */
+    private static Optional<ThreadFactory> lookupFactory(){
+        try{
+            final var lookup = MethodHandles.publicLookup();
+            final var builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final var ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(builderClass));
+            final var factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            return Optional.of((ThreadFactory) factory.invoke(ofVirtual.invoke()));
+        }
+        catch(Throwable e){
+            //Runtime without virtual threads, or with virtual threads only as a disabled preview feature
+            return Optional.empty();
+        }
+    }
+}
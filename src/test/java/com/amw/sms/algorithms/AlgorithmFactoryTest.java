@@ -8,8 +8,16 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import java.util.stream.Stream;
 
 import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.algorithms.generation.Ellers;
+import com.amw.sms.algorithms.generation.Kruskal;
 import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.algorithms.generation.RecursiveBacktracker;
+import com.amw.sms.algorithms.generation.RecursiveDivision;
 import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.algorithms.generation.Wilsons;
+import com.amw.sms.algorithms.solving.AStar;
+import com.amw.sms.algorithms.solving.BidirectionalSearch;
+import com.amw.sms.algorithms.solving.MazeSolveAlgorithmType;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,9 +41,30 @@ public class AlgorithmFactoryTest {
     @MockBean
     private Sidewinder mockSidewinder;
 
+    @MockBean
+    private RecursiveBacktracker mockRecursiveBacktracker;
+
+    @MockBean
+    private Ellers mockEllers;
+
+    @MockBean
+    private Kruskal mockKruskal;
+
+    @MockBean
+    private Wilsons mockWilsons;
+
+    @MockBean
+    private RecursiveDivision mockRecursiveDivision;
+
     @MockBean
     private Dijkstra mockDijkstra;
 
+    @MockBean
+    private BidirectionalSearch mockBidirectionalSearch;
+
+    @MockBean
+    private AStar mockAStar;
+
     @Autowired
     private AlgorithmFactory algorithmFactory;
 
@@ -44,6 +73,11 @@ public class AlgorithmFactoryTest {
         assertEquals(mockDijkstra, algorithmFactory.getDijkstra());
     }
 
+    @Test
+    void testGetAStar_returnsAStarBean() {
+        assertEquals(mockAStar, algorithmFactory.getAStar());
+    }
+
     @Test
     void testGetGenerationAlgorithm_returnsSomeGenerationAlgorithm() {
         assertNotNull(algorithmFactory.getGenerationAlgorithm());
@@ -63,7 +97,12 @@ public class AlgorithmFactoryTest {
     static Stream<Arguments> enumToExpectedAlgorithm(){
         return Stream.of(
             arguments(MazeGenAlgorithmType.BINARY_TREE, BinaryTree.class),
-            arguments(MazeGenAlgorithmType.SIDEWINDER, Sidewinder.class)
+            arguments(MazeGenAlgorithmType.SIDEWINDER, Sidewinder.class),
+            arguments(MazeGenAlgorithmType.RECURSIVE_BACKTRACKER, RecursiveBacktracker.class),
+            arguments(MazeGenAlgorithmType.ELLERS, Ellers.class),
+            arguments(MazeGenAlgorithmType.KRUSKAL, Kruskal.class),
+            arguments(MazeGenAlgorithmType.WILSONS, Wilsons.class),
+            arguments(MazeGenAlgorithmType.RECURSIVE_DIVISION, RecursiveDivision.class)
         );
     }
 
@@ -76,4 +115,18 @@ public class AlgorithmFactoryTest {
     void testGetSolvingAlgorithm_returnsDijkstraBeanByDefault() {
         assertEquals(mockDijkstra, algorithmFactory.getSolvingAlgorithm());
     }
+
+    @ParameterizedTest
+    @MethodSource("solvingEnumToExpectedAlgorithm")
+    void testGetSolvingAlgorithm_returnsExpectedAlgorithmBasedOnEnum(MazeSolveAlgorithmType type, Class expectedAlgorithmClass) {
+        assertTrue(expectedAlgorithmClass.isInstance(algorithmFactory.getSolvingAlgorithm(type)));
+    }
+
+    static Stream<Arguments> solvingEnumToExpectedAlgorithm(){
+        return Stream.of(
+            arguments(MazeSolveAlgorithmType.DIJKSTRA, Dijkstra.class),
+            arguments(MazeSolveAlgorithmType.BIDIRECTIONAL_BFS, BidirectionalSearch.class),
+            arguments(MazeSolveAlgorithmType.A_STAR, AStar.class)
+        );
+    }
 }
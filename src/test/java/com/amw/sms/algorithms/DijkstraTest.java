@@ -1,31 +1,38 @@
 package com.amw.sms.algorithms;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
 
 import com.amw.sms.algorithms.solving.MazeSolveAlgorithm;
 import com.amw.sms.algorithms.solving.MazeSolveAlgorithmTest;
-import com.amw.sms.grid.Cell;
+import com.amw.sms.grid.BitfieldGrid;
 import com.amw.sms.grid.Grid;
+import com.amw.sms.mazes.Maze;
+import com.amw.sms.mazes.goals.MazeGoal;
+import com.amw.sms.mazes.goals.MazeGoalType;
+import com.amw.sms.util.Pair;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class DijkstraTest extends MazeSolveAlgorithmTest {
 
-    @Mock
-    private Grid mockGrid;
+    private Grid grid;
 
     private Dijkstra dijk;
 
     @BeforeEach
     void beforeEach(){
+        grid = new Grid(10, 10);
         dijk = new Dijkstra();
     }
 
@@ -40,8 +47,8 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
 
     @Test
     void testGetDistances_whenNoLinks_returnsDistancesContainingOnlyRootCell(){
-        final var cell = new Cell(1, 1);        
-        final var distances = dijk.getDistances(mockGrid, cell);
+        final var cell = grid.getCell(1, 1).get();        
+        final var distances = dijk.getDistances(grid, cell);
 
         assertEquals(0, distances.getDistance(cell));
         final var indexedCells = distances.getCells(); 
@@ -52,40 +59,36 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenOneVerticalLink_returnsDistancesWhereLinkedCellHasDistanceOfOne(){
         //Grid of 2 vertically placed cells 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(2, 1);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(2, 1).get();
         cell1.link(cell2);
-        cell1.setNorth(Optional.of(cell2));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
     }
 
     @Test
     void testGetDistances_whenOneHorizontalLink_returnsDistancesWhereLinkedCellHasDistanceOfOne(){
         //Grid of 2 horizontally placed cells 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(1, 2);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(1, 2).get();
         cell1.link(cell2);
-        cell1.setEast(Optional.of(cell2));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
     }
 
     @Test
     void testGetDistances_whenTwoVerticalLinksAndDepthOfTwo_returnsExpectedDistances(){
         //Grid of 3 vertically placed cells 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(2, 1);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(2, 1).get();
         cell1.link(cell2);
-        cell1.setNorth(Optional.of(cell2));
 
-        final var cell3 = new Cell(3, 1);
+        final var cell3 = grid.getCell(3, 1).get();
         cell2.link(cell3);
-        cell2.setNorth(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(2, distances.getDistance(cell3));
     }
@@ -93,16 +96,14 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenTwoVerticalLinksAndDepthOfOne_returnsExpectedDistances(){
         //Grid of 3 vertically placed cells 
-        final var cell1 = new Cell(2, 1);
-        final var cell2 = new Cell(3, 1);
+        final var cell1 = grid.getCell(2, 1).get();
+        final var cell2 = grid.getCell(3, 1).get();
         cell1.link(cell2);
-        cell1.setNorth(Optional.of(cell2));
 
-        final var cell3 = new Cell(1, 1);
+        final var cell3 = grid.getCell(1, 1).get();
         cell1.link(cell3);
-        cell1.setSouth(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(1, distances.getDistance(cell3));
     }
@@ -111,16 +112,14 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenTwoHorizontalLinksAndDepthOfTwo_returnsExpectedDistances(){
         //Grid of 3 horizontally placed cells 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(1, 2);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(1, 2).get();
         cell1.link(cell2);
-        cell1.setEast(Optional.of(cell2));
 
-        final var cell3 = new Cell(1, 3);
+        final var cell3 = grid.getCell(1, 3).get();
         cell2.link(cell3);
-        cell2.setEast(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(2, distances.getDistance(cell3));
     }
@@ -128,16 +127,14 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenTwoHorizontalLinksAndDepthOfOne_returnsExpectedDistances(){
         //Grid of 3 horizontally placed cells 
-        final var cell1 = new Cell(1, 2);
-        final var cell2 = new Cell(1, 3);
+        final var cell1 = grid.getCell(1, 2).get();
+        final var cell2 = grid.getCell(1, 3).get();
         cell1.link(cell2);
-        cell1.setEast(Optional.of(cell2));
 
-        final var cell3 = new Cell(1, 1);
+        final var cell3 = grid.getCell(1, 1).get();
         cell1.link(cell3);
-        cell1.setWest(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(1, distances.getDistance(cell3));
     }
@@ -145,16 +142,14 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenOneVerticalAndOneHorizontalLink_returnsExpectedDistances(){
         //L-shaped grid of 3 cells 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(2, 1);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(2, 1).get();
         cell1.link(cell2);
-        cell1.setNorth(Optional.of(cell2));
 
-        final var cell3 = new Cell(1, 2);
+        final var cell3 = grid.getCell(1, 2).get();
         cell1.link(cell3);
-        cell1.setEast(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(1, distances.getDistance(cell3));
     }
@@ -162,29 +157,24 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenMoreComplexGrid_returnsExpectedDistances(){
         //T-shaped grid of 6 cells 
-        final var cell1 = new Cell(5, 5);
-        final var cell2 = new Cell(4, 5);
-        final var cell3 = new Cell(6, 5);
-        final var cell4 = new Cell(7, 5);
-        final var cell5 = new Cell(7, 4);
-        final var cell6 = new Cell(7, 6);
+        final var cell1 = grid.getCell(5, 5).get();
+        final var cell2 = grid.getCell(4, 5).get();
+        final var cell3 = grid.getCell(6, 5).get();
+        final var cell4 = grid.getCell(7, 5).get();
+        final var cell5 = grid.getCell(7, 4).get();
+        final var cell6 = grid.getCell(7, 6).get();
 
         cell1.link(cell2);
-        cell1.setSouth(Optional.of(cell2));
 
         cell1.link(cell3);
-        cell1.setNorth(Optional.of(cell3));
 
         cell3.link(cell4);
-        cell3.setNorth(Optional.of(cell4));
 
         cell4.link(cell5);
-        cell4.setWest(Optional.of(cell5));
 
         cell4.link(cell6);
-        cell4.setEast(Optional.of(cell6));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(1, distances.getDistance(cell3));
         assertEquals(2, distances.getDistance(cell4));
@@ -195,24 +185,231 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testGetDistances_whenImperfectMaze_returnsSmallestDistancesOnly(){
         //Imperfect maze (loop): Multiple paths to cell3. 
-        final var cell1 = new Cell(1, 1);
-        final var cell2 = new Cell(1, 2);
-        final var cell3 = new Cell(1, 3);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(1, 2).get();
+        final var cell3 = grid.getCell(1, 3).get();
        
         cell1.link(cell2);
-        cell1.setNorth(Optional.of(cell2));
 
         cell2.link(cell3);
-        cell2.setNorth(Optional.of(cell3));
 
         cell1.link(cell3);
-        cell1.setSouth(Optional.of(cell3));
 
-        final var distances = dijk.getDistances(mockGrid, cell1);
+        final var distances = dijk.getDistances(grid, cell1);
         assertEquals(1, distances.getDistance(cell2));
         assertEquals(1, distances.getDistance(cell3));
     }
 
+    @Test
+    void testGetDistances_whenBitfieldGrid_returnsExpectedDistances(){
+        //Corridor of 4 cells along the first row of a bitfield grid
+        final var bitfieldGrid = new BitfieldGrid(3, 4);
+        bitfieldGrid.link(0, 1);
+        bitfieldGrid.link(1, 2);
+        bitfieldGrid.link(2, 3);
+
+        final var distances = dijk.getDistances(bitfieldGrid, 0);
+        assertEquals(3, distances.getDistance(3));
+        assertEquals(-1, distances.getDistance(4));
+        assertEquals(3, distances.getFurthestIndex());
+    }
+
+    @Test
+    void testGetSolution_whenBitfieldGrid_returnsIndexesOfCellsOnPath(){
+        //L-shaped path: down the first column, then along the last row
+        final var bitfieldGrid = new BitfieldGrid(3, 3);
+        bitfieldGrid.link(0, 3);
+        bitfieldGrid.link(3, 6);
+        bitfieldGrid.link(6, 7);
+        bitfieldGrid.link(7, 8);
+
+        assertArrayEquals(new int[]{0, 3, 6, 7, 8}, dijk.getSolution(bitfieldGrid, 0, 8));
+        assertEquals(0, dijk.getSolution(bitfieldGrid, 0, 5).length);
+    }
+
+    @Test
+    void testGetSolution_whenLongSerpentinePath_returnsEveryCellInOrder(){
+        //Rows are walked alternately east and west, joined at alternating ends
+        final var rows = 20;
+        final var columns = 50;
+        final var bitfieldGrid = new BitfieldGrid(rows, columns);
+        final var expectedPath = new int[rows * columns];
+        var step = 0;
+        for(var row = 0; row < rows; row++){
+            for(var column = 0; column < columns; column++){
+                final var cell = row * columns + (row % 2 == 0 ? column : columns - 1 - column);
+                if(step > 0){
+                    bitfieldGrid.link(expectedPath[step - 1], cell);
+                }
+                expectedPath[step++] = cell;
+            }
+        }
+
+        assertArrayEquals(expectedPath, dijk.getSolution(bitfieldGrid, expectedPath[0], expectedPath[expectedPath.length - 1]));
+    }
+
+    @Test
+    void testGetSolutionIndexes_whenMazeHasDistancesFromStart_returnsPathAlongThoseDistances(){
+        //L-shaped path: down the first column, then along the last row
+        final var mazeGrid = new Grid(3, 3);
+        mazeGrid.link(0, 3);
+        mazeGrid.link(3, 6);
+        mazeGrid.link(6, 7);
+        mazeGrid.link(7, 8);
+        final var start = new MazeGoal(mazeGrid.cellAt(0), MazeGoalType.ENTRANCE);
+        final var end = new MazeGoal(mazeGrid.cellAt(8), MazeGoalType.EXIT);
+        final var distances = dijk.getDistances(mazeGrid, 0);
+
+        final var maze = new Maze(mazeGrid, new Pair<>(start, end), Optional.empty(), Optional.empty(), Optional.of(distances));
+
+        assertArrayEquals(new int[]{0, 3, 6, 7, 8}, dijk.getSolutionIndexes(maze));
+    }
+
+    @Test
+    void testGetSolutionIndexes_whenMazeLinkedAfterDistancesFromStart_searchesAgain(){
+        final var mazeGrid = new Grid(3, 3);
+        mazeGrid.link(0, 3);
+        mazeGrid.link(3, 6);
+        mazeGrid.link(6, 7);
+        mazeGrid.link(7, 8);
+        final var start = new MazeGoal(mazeGrid.cellAt(0), MazeGoalType.ENTRANCE);
+        final var end = new MazeGoal(mazeGrid.cellAt(8), MazeGoalType.EXIT);
+        final var distances = dijk.getDistances(mazeGrid, 0);
+        final var maze = new Maze(mazeGrid, new Pair<>(start, end), Optional.empty(), Optional.empty(), Optional.of(distances));
+
+        //Reroute along the first row and last column instead
+        mazeGrid.unlink(3, 6);
+        mazeGrid.link(0, 1);
+        mazeGrid.link(1, 2);
+        mazeGrid.link(2, 5);
+        mazeGrid.link(5, 8);
+
+        assertEquals(Optional.empty(), maze.getDistancesFromStart());
+        assertArrayEquals(new int[]{0, 1, 2, 5, 8}, dijk.getSolutionIndexes(maze));
+    }
+
+    @Test
+    void testGetDistances_whenCaching_returnsCachedDistancesUntilGridIsLinked(){
+        final var cachingDijk = new Dijkstra(1000);
+        final var cell1 = grid.getCell(1, 1).get();
+        final var cell2 = grid.getCell(1, 2).get();
+
+        final var distances = cachingDijk.getDistances(grid, cell1);
+        assertSame(distances, cachingDijk.getDistances(grid, cell1));
+
+        //Linking through the cell itself still invalidates the cached distances
+        cell1.link(cell2);
+        final var updatedDistances = cachingDijk.getDistances(grid, cell1);
+
+        assertNotSame(distances, updatedDistances);
+        assertEquals(1, updatedDistances.getDistance(cell2));
+    }
+
+    @Test
+    void testGetDistances_whenCaching_returnsReadOnlyDistances(){
+        final var cachingDijk = new Dijkstra(1000);
+        grid.link(0, 1);
+
+        final var distances = cachingDijk.getDistances(grid, 0);
+
+        assertTrue(distances.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> distances.setDistance(1, 0));
+        assertEquals(1, cachingDijk.getDistances(grid, 0).getDistance(1));
+    }
+
+    @Test
+    void testGetDistances_whenCaching_evictsLeastRecentlyUsedDistancesOverCapacity(){
+        //Room for the distances of two 10x10 grids
+        final var cachingDijk = new Dijkstra(200);
+        final var distances0 = cachingDijk.getDistances(grid, 0);
+        final var distances1 = cachingDijk.getDistances(grid, 1);
+
+        //Using the first makes the second the least recently used
+        cachingDijk.getDistances(grid, 0);
+        cachingDijk.getDistances(grid, 2);
+
+        assertEquals(200, cachingDijk.getCachedCells());
+        assertSame(distances0, cachingDijk.getDistances(grid, 0));
+        assertNotSame(distances1, cachingDijk.getDistances(grid, 1));
+    }
+
+    @Test
+    void testGetDistances_whenCachingAndGridLargerThanCache_doesNotCache(){
+        final var cachingDijk = new Dijkstra(50);
+
+        assertNotSame(cachingDijk.getDistances(grid, 0), cachingDijk.getDistances(grid, 0));
+        assertEquals(0, cachingDijk.getCachedCells());
+    }
+
+    @Test
+    void testGetSolution_whenCaching_returnsPathAlongCachedDistances(){
+        final var cachingDijk = new Dijkstra(1000);
+        final var bitfieldGrid = new BitfieldGrid(3, 3);
+        bitfieldGrid.link(0, 3);
+        bitfieldGrid.link(3, 6);
+        bitfieldGrid.link(6, 7);
+        bitfieldGrid.link(7, 8);
+
+        assertArrayEquals(new int[]{0, 3, 6, 7, 8}, cachingDijk.getSolution(bitfieldGrid, 0, 8));
+        assertArrayEquals(new int[]{0, 3, 6}, cachingDijk.getSolution(bitfieldGrid, 0, 6));
+        assertEquals(9, cachingDijk.getCachedCells());
+
+        bitfieldGrid.unlink(6, 7);
+        assertEquals(0, cachingDijk.getSolution(bitfieldGrid, 0, 8).length);
+    }
+
+    @Test
+    void testGetDistances_whenCalledRepeatedlyOnDifferentGrids_doesNotReuseEarlierDistances(){
+        //Fully connected first row in a large grid, then a smaller grid with no links at all
+        final var largeGrid = new BitfieldGrid(20, 20);
+        for(var cell = 0; cell < 19; cell++){
+            largeGrid.link(cell, cell + 1);
+        }
+        dijk.getDistances(largeGrid, 0);
+
+        final var smallGrid = new BitfieldGrid(2, 5);
+        final var distances = dijk.getDistances(smallGrid, 0);
+
+        assertEquals(0, distances.getDistance(0));
+        for(var cell = 1; cell < smallGrid.getCellCount(); cell++){
+            assertEquals(-1, distances.getDistance(cell));
+        }
+    }
+
+    @Test
+    void testGetSolution_whenGridLargerThanRetainedBuffers_returnsPathAndLeavesSmallSearchesCorrect(){
+        //More cells than the buffers kept per thread, connected along the first row
+        final var largeGrid = new BitfieldGrid(300, 300);
+        for(var cell = 0; cell < 299; cell++){
+            largeGrid.link(cell, cell + 1);
+        }
+        final var smallGrid = new BitfieldGrid(2, 2);
+        smallGrid.link(0, 1);
+        dijk.getDistances(smallGrid, 0);
+
+        final var path = dijk.getSolution(largeGrid, 0, 299);
+        final var distances = dijk.getDistances(smallGrid, 0);
+
+        assertEquals(300, path.length);
+        assertEquals(299, path[path.length - 1]);
+        assertEquals(1, distances.getDistance(1));
+        assertEquals(-1, distances.getDistance(2));
+    }
+
+    @Test
+    void testGetSolution_whenLargeGridSolvedAgain_reusesBuffers(){
+        final var grid = new BitfieldGrid(300, 300);
+        for(var cell = 0; cell < 299; cell++){
+            grid.link(cell, cell + 1);
+        }
+        dijk.getSolution(grid, 0, 299);
+        final var createdBuffers = Dijkstra.getCreatedBuffers();
+
+        final var path = dijk.getSolution(grid, 0, 299);
+
+        assertEquals(300, path.length);
+        assertEquals(createdBuffers, Dijkstra.getCreatedBuffers());
+    }
 
     @Test
     void testGetPathFromRoot(){
@@ -242,7 +439,6 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
         root.setEast(Optional.of(cell1));
 
         cell1.link(cell2);
-        cell1.setSouth(Optional.of(cell2));
 
         distances.addCell(cell1, 1);
         distances.addCell(cell2, 2);
@@ -254,7 +450,7 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
     @Test
     void testPathToGoal_whenMutliplePathsToSameCell_returnsExpectedSmallestPath(){
         //Create simple square grid, 3 paths to same cell, 1 shorter than others
-        final var cell3 = new Cell(4, 4);
+        final var cell3 = grid.getCell(4, 4).get();
       
         root.link(cell1);
         root.setEast(Optional.of(cell1));
@@ -269,10 +465,8 @@ public class DijkstraTest extends MazeSolveAlgorithmTest {
         distances.addCell(cell3, 1);
 
         cell1.link(cell3);
-        cell1.setSouth(Optional.of(cell3));
 
         cell2.link(cell3);
-        cell2.setEast(Optional.of(cell3));
 
         final var expectedPath = Arrays.asList(root, cell3);
         assertEquals(expectedPath, distances.pathToGoal(cell3));
@@ -0,0 +1,147 @@
+package com.amw.sms.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test IncrementalDistances class.
+ * After every change, the tracked distances are compared with the distances of a new search.
+ */
+public class IncrementalDistancesTest {
+    private Dijkstra dijk;
+
+    @BeforeEach
+    void beforeEach(){
+        dijk = new Dijkstra();
+    }
+
+    @Test
+    void testLinkAdded_whenLinkReconnectsCells_setsTheirDistances(){
+        final var grid = new Grid(1, 5);
+        for(var i = 0; i < 4; i++) grid.link(i, i + 1);
+        final var tracked = dijk.trackDistances(grid, 0);
+
+        grid.unlink(2, 3);
+        assertEquals(-1, tracked.getDistances().getDistance(4));
+        assertDistancesMatchNewSearch(grid, tracked);
+
+        grid.link(2, 3);
+        assertEquals(4, tracked.getDistances().getDistance(4));
+        assertDistancesMatchNewSearch(grid, tracked);
+    }
+
+    @Test
+    void testLinkAdded_whenLinkShortensPaths_updatesDistancesBeyondIt(){
+        //U-shaped path 0-3-4-5-2-1 through the bottom row, then a shortcut through the top row
+        final var grid = new Grid(2, 3);
+        grid.link(0, 3);
+        grid.link(3, 4);
+        grid.link(4, 5);
+        grid.link(5, 2);
+        grid.link(2, 1);
+        final var tracked = dijk.trackDistances(grid, 0);
+        assertEquals(5, tracked.getDistances().getDistance(1));
+
+        grid.link(0, 1);
+        assertEquals(1, tracked.getDistances().getDistance(1));
+        assertEquals(2, tracked.getDistances().getDistance(2));
+        assertArrayEquals(new int[]{ 0, 1, 2 }, tracked.getPathTo(2));
+        assertDistancesMatchNewSearch(grid, tracked);
+    }
+
+    @Test
+    void testLinkRemoved_whenOtherShortestPathRemains_keepsDistances(){
+        //2x2 loop: the far corner is reached through either side
+        final var grid = new Grid(2, 2);
+        grid.link(0, 1);
+        grid.link(0, 2);
+        grid.link(1, 3);
+        grid.link(2, 3);
+        final var tracked = dijk.trackDistances(grid, 0);
+
+        grid.unlink(1, 3);
+        assertEquals(2, tracked.getDistances().getDistance(3));
+        assertArrayEquals(new int[]{ 0, 2, 3 }, tracked.getPathTo(3));
+
+        grid.unlink(0, 2);
+        assertArrayEquals(new int[]{ 0, 1 }, tracked.getPathTo(1));
+        assertEquals(0, tracked.getPathTo(3).length);
+        assertDistancesMatchNewSearch(grid, tracked);
+    }
+
+    @Test
+    void testLinkRemoved_whenLinkWasOnlyPath_disconnectsSubtreeAndReconnectsWhenRelinked(){
+        final var grid = new Grid(3, 3);
+        new BinaryTree().apply(grid, new SplittableRandom(3));
+        final var tracked = dijk.trackDistances(grid, 0);
+
+        for(var cell = 1; cell < grid.getCellCount(); cell++){
+            final var path = tracked.getPathTo(cell);
+            final var parent = path[path.length - 2];
+            grid.unlink(parent, cell);
+            assertDistancesMatchNewSearch(grid, tracked);
+            grid.link(parent, cell);
+            assertDistancesMatchNewSearch(grid, tracked);
+        }
+    }
+
+    @Test
+    void testLinkChanges_whenRandomEditsOnGrid_matchNewSearch(){
+        assertRandomEditsMatchNewSearch(new Grid(8, 8), 1);
+    }
+
+    @Test
+    void testLinkChanges_whenRandomEditsOnBitfieldGrid_matchNewSearch(){
+        assertRandomEditsMatchNewSearch(new BitfieldGrid(12, 12), 2);
+    }
+
+    @Test
+    void testClose_stopsUpdatingDistances(){
+        final var grid = new BitfieldGrid(1, 3);
+        grid.link(0, 1);
+        final var tracked = dijk.trackDistances(grid, 0);
+        tracked.close();
+
+        grid.link(1, 2);
+        assertEquals(-1, tracked.getDistances().getDistance(2));
+    }
+
+    /**
+     * Applies random links and unlinks to a generated maze, checking the tracked distances after each one.
+     * @param grid Grid to edit.
+     * @param seed Seed of the edits.
+     */
+    private void assertRandomEditsMatchNewSearch(MazeGrid grid, long seed){
+        final var rng = new SplittableRandom(seed);
+        new BinaryTree().apply(grid, rng);
+        final var tracked = dijk.trackDistances(grid, rng.nextInt(grid.getCellCount()));
+
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        for(var edit = 0; edit < 500; edit++){
+            final var cell = rng.nextInt(grid.getCellCount());
+            final var neighbor = neighbors[rng.nextInt(grid.getNeighbors(cell, neighbors))];
+            if(grid.isLinked(cell, neighbor))   grid.unlink(cell, neighbor);
+            else                                grid.link(cell, neighbor);
+
+            assertDistancesMatchNewSearch(grid, tracked);
+        }
+    }
+
+    private void assertDistancesMatchNewSearch(MazeGrid grid, IncrementalDistances tracked){
+        final var rootIndex = tracked.getDistances().getRootIndex();
+        final var expected = dijk.getDistances(grid, rootIndex);
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertEquals(expected.getDistance(cell), tracked.getDistances().getDistance(cell), "Distance of cell " + cell);
+        }
+    }
+}
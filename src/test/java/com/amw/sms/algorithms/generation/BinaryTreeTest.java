@@ -0,0 +1,101 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for BinaryTree.
+ */
+public class BinaryTreeTest {
+    private static final long SEED = 42L;
+
+    @Test
+    void testApply_createsPerfectMaze(){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new BinaryTree().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_everyCellExceptNorthEastCornerLinksNorthOrEast(){
+        final var grid = new Grid(20, 30);
+
+        new BinaryTree().apply(grid, new SplittableRandom(SEED));
+
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            final var linksNorth = grid.north(cell) != MazeGrid.NO_CELL && grid.isLinked(cell, grid.north(cell));
+            final var linksEast = grid.east(cell) != MazeGrid.NO_CELL && grid.isLinked(cell, grid.east(cell));
+            assertEquals(cell != grid.getColumnCount() - 1, linksNorth ^ linksEast);
+        }
+    }
+
+    @Test
+    void testApply_whenDifferentSeeds_createsDifferentMazes(){
+        final var grid1 = new BitfieldGrid(30, 30);
+        final var grid2 = new BitfieldGrid(30, 30);
+
+        new BinaryTree().apply(grid1, new SplittableRandom(SEED));
+        new BinaryTree().apply(grid2, new SplittableRandom(SEED + 1));
+
+        assertNotEquals(grid1.toString(), grid2.toString());
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMazeOnEveryGridType(){
+        final var bitfieldGrid = new BitfieldGrid(45, 37);
+        final var grid = new Grid(45, 37);
+
+        new BinaryTree().apply(bitfieldGrid, new SplittableRandom(SEED));
+        new BinaryTree().apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(grid.toString(), bitfieldGrid.toString());
+    }
+
+    @Test
+    void testInParallel_whenSameSeed_createsSameMazeRegardlessOfThreadCount(){
+        final var sequentialGrid = new BitfieldGrid(700, 500);
+        new BinaryTree().apply(sequentialGrid, new SplittableRandom(SEED));
+
+        for(final var threadCount : new int[]{1, 2, 7}){
+            final var pool = new ForkJoinPool(threadCount);
+            try{
+                final var parallelGrid = new BitfieldGrid(700, 500);
+                final var binaryTree = (BinaryTree) new BinaryTree().inParallel(pool);
+
+                binaryTree.apply(parallelGrid, new SplittableRandom(SEED));
+
+                assertEquals(sequentialGrid.toString(), parallelGrid.toString());
+            }
+            finally{
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
@@ -0,0 +1,107 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Ellers.
+ */
+public class EllersTest {
+    private static final long SEED = 42L;
+
+    @Test
+    void testApply_createsPerfectMaze(){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new Ellers().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenSingleRowOrColumn_createsPerfectMaze(){
+        final var row = new BitfieldGrid(1, 30);
+        final var column = new Grid(30, 1);
+
+        new Ellers().apply(row, new SplittableRandom(SEED));
+        new Ellers().apply(column, new SplittableRandom(SEED));
+
+        assertPerfectMaze(row);
+        assertPerfectMaze(column);
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMazeOnEveryGridType(){
+        final var bitfieldGrid = new BitfieldGrid(120, 80);
+        final var grid = new Grid(120, 80);
+
+        new Ellers().apply(bitfieldGrid, new SplittableRandom(SEED));
+        new Ellers().apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(bitfieldGrid.toString(), grid.toString());
+    }
+
+    @Test
+    void testGenerate_emitsEveryRowInOrder_andLastRowHasNoSouthLinks(){
+        final var rowCount = 25;
+        final var columnCount = 70;
+        final var nextRow = new int[]{ 0 };
+
+        new Ellers().generate(rowCount, columnCount, new SplittableRandom(SEED), (var row) -> {
+            assertEquals(nextRow[0]++, row.getRow());
+            assertEquals(columnCount, row.getColumnCount());
+            assertFalse(row.isLinkedEast(columnCount - 1));
+            if(row.getRow() == rowCount - 1){
+                for(var column = 0; column < columnCount; column++){
+                    assertFalse(row.isLinkedSouth(column));
+                }
+            }
+        });
+
+        assertEquals(rowCount, nextRow[0]);
+    }
+
+    @Test
+    void testGenerate_whenManyRows_createsConnectedMazeOneRowAtATime(){
+        //Far more rows than are ever kept: count the links and check every row connects to the one below it
+        final var rowCount = 100_000;
+        final var columnCount = 16;
+        final var linkCount = new long[]{ 0 };
+
+        new Ellers().generate(rowCount, columnCount, new SplittableRandom(SEED), (var row) -> {
+            var southLinks = 0;
+            for(var column = 0; column < columnCount; column++){
+                if(row.isLinkedEast(column)) linkCount[0]++;
+                if(row.isLinkedSouth(column)) southLinks++;
+            }
+            linkCount[0] += southLinks;
+            assertTrue(row.getRow() == rowCount - 1 || southLinks > 0);
+        });
+
+        assertEquals((long) rowCount * columnCount - 1, linkCount[0]);
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
@@ -0,0 +1,112 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for Kruskal.
+ */
+public class KruskalTest {
+    private static final long SEED = 42L;
+
+    @Test
+    void testApply_createsPerfectMaze(){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new Kruskal().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenDifferentSeeds_createsDifferentMazes(){
+        final var grid1 = new BitfieldGrid(30, 30);
+        final var grid2 = new BitfieldGrid(30, 30);
+
+        new Kruskal().apply(grid1, new SplittableRandom(SEED));
+        new Kruskal().apply(grid2, new SplittableRandom(SEED + 1));
+
+        assertNotEquals(grid1.toString(), grid2.toString());
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMazeOnEveryGridType(){
+        final var bitfieldGrid = new BitfieldGrid(45, 37);
+        final var grid = new Grid(45, 37);
+
+        new Kruskal().apply(bitfieldGrid, new SplittableRandom(SEED));
+        new Kruskal().apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(bitfieldGrid.toString(), grid.toString());
+    }
+
+    @Test
+    void testInParallel_whenSameSeed_createsSameMazeRegardlessOfThreadCount(){
+        //Large enough for the candidates to be filtered several times
+        final var sequentialGrid = new BitfieldGrid(400, 300);
+        new Kruskal().apply(sequentialGrid, new SplittableRandom(SEED));
+        assertPerfectMaze(sequentialGrid);
+
+        for(final var threadCount : new int[]{1, 2, 7}){
+            final var pool = new ForkJoinPool(threadCount);
+            try{
+                final var parallelGrid = new BitfieldGrid(400, 300);
+                new Kruskal().inParallel(pool).apply(parallelGrid, new SplittableRandom(SEED));
+
+                assertEquals(sequentialGrid.toString(), parallelGrid.toString());
+            }
+            finally{
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testApply_whenSingleRowOrCell_createsPerfectMaze(){
+        final var row = new BitfieldGrid(1, 20);
+        final var cell = new BitfieldGrid(1, 1);
+
+        new Kruskal().apply(row, new SplittableRandom(SEED));
+        new Kruskal().apply(cell, new SplittableRandom(SEED));
+
+        assertPerfectMaze(row);
+        assertPerfectMaze(cell);
+    }
+
+    @Test
+    void testApply_whenTooManyPairsOfNeighbors_throwsIllegalArgumentException(){
+        //About 1.6 billion cells, so about 3.2 billion pairs, more than an array holds
+        final var grid = Mockito.mock(MazeGrid.class);
+        Mockito.when(grid.getRowCount()).thenReturn(40_000);
+        Mockito.when(grid.getColumnCount()).thenReturn(40_000);
+
+        assertThrows(IllegalArgumentException.class, () -> new Kruskal().apply(grid, new SplittableRandom(SEED)));
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
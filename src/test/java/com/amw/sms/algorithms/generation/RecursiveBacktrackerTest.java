@@ -0,0 +1,73 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for RecursiveBacktracker.
+ */
+public class RecursiveBacktrackerTest {
+    private static final long SEED = 42L;
+
+    @Test
+    void testApply_createsPerfectMaze(){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new RecursiveBacktracker().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMazeOnEveryGridType(){
+        final var bitfieldGrid = new BitfieldGrid(120, 80);
+        final var grid = new Grid(120, 80);
+
+        new RecursiveBacktracker().apply(bitfieldGrid, new SplittableRandom(SEED));
+        new RecursiveBacktracker().apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(bitfieldGrid.toString(), grid.toString());
+    }
+
+    @Test
+    void testApply_whenWalkIsLongerThanThreadStackAllows_createsPerfectMaze(){
+        //A single row is one corridor, so the walk is as deep as the grid is wide
+        final var grid = new BitfieldGrid(1, 500_000);
+
+        new RecursiveBacktracker().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenSingleCell_createsNoLinks(){
+        final var grid = new BitfieldGrid(1, 1);
+
+        new RecursiveBacktracker().apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(0, grid.degree(0));
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
@@ -0,0 +1,95 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Sidewinder.
+ */
+public class SidewinderTest {
+    private static final long SEED = 42L;
+
+    @Test
+    void testApply_createsPerfectMaze(){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new Sidewinder().apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMaze(){
+        final var grid1 = new BitfieldGrid(300, 200);
+        final var grid2 = new BitfieldGrid(300, 200);
+
+        new Sidewinder().apply(grid1, new SplittableRandom(SEED));
+        new Sidewinder().apply(grid2, new SplittableRandom(SEED));
+
+        assertEquals(grid1.toString(), grid2.toString());
+    }
+
+    @Test
+    void testInParallel_whenSameSeed_createsSameMazeRegardlessOfThreadCount(){
+        final var sequentialGrid = new BitfieldGrid(400, 300);
+        new Sidewinder().apply(sequentialGrid, new SplittableRandom(SEED));
+
+        for(final var threadCount : new int[]{1, 2, 7}){
+            final var pool = new ForkJoinPool(threadCount);
+            try{
+                final var parallelGrid = new BitfieldGrid(400, 300);
+                final var sidewinder = (Sidewinder) new Sidewinder().inParallel(pool);
+
+                sidewinder.apply(parallelGrid, new SplittableRandom(SEED));
+
+                assertEquals(sequentialGrid.toString(), parallelGrid.toString());
+            }
+            finally{
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testInParallel_whenGridDoesNotSupportConcurrentLinking_createsSameMazeSequentially(){
+        final var pool = new ForkJoinPool(4);
+        try{
+            final var bitfieldGrid = new BitfieldGrid(200, 150);
+            final var grid = new Grid(200, 150);
+            final var sidewinder = (Sidewinder) new Sidewinder().inParallel(pool);
+
+            sidewinder.apply(bitfieldGrid, new SplittableRandom(SEED));
+            sidewinder.apply(grid, new SplittableRandom(SEED));
+
+            assertEquals(bitfieldGrid.toString(), grid.toString());
+            assertPerfectMaze(grid);
+        }
+        finally{
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
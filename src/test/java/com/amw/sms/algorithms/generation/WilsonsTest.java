@@ -0,0 +1,85 @@
+package com.amw.sms.algorithms.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for Wilsons.
+ */
+public class WilsonsTest {
+    private static final long SEED = 42L;
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 0.3, 1})
+    void testApply_createsPerfectMaze(double warmStartFraction){
+        final var grid = new BitfieldGrid(50, 40);
+
+        new Wilsons(warmStartFraction).apply(grid, new SplittableRandom(SEED));
+
+        assertPerfectMaze(grid);
+    }
+
+    @Test
+    void testApply_whenSameSeed_createsSameMazeOnEveryGridType(){
+        final var bitfieldGrid = new BitfieldGrid(45, 37);
+        final var grid = new Grid(45, 37);
+
+        new Wilsons(0.2).apply(bitfieldGrid, new SplittableRandom(SEED));
+        new Wilsons(0.2).apply(grid, new SplittableRandom(SEED));
+
+        assertEquals(bitfieldGrid.toString(), grid.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, 0.5})
+    void testApply_generatesEveryMazeWithEqualProbability(double warmStartFraction){
+        //A 2x2 grid has exactly 4 mazes: the loop around it with one of its 4 links missing
+        final var wilsons = new Wilsons(warmStartFraction);
+        final var rng = new SplittableRandom(SEED);
+        final var counts = new HashMap<String, Integer>();
+        final var samples = 8000;
+        for(var i = 0; i < samples; i++){
+            final var grid = new BitfieldGrid(2, 2);
+            wilsons.apply(grid, rng);
+            counts.merge(grid.toString(), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for(final var count : counts.values()){
+            assertTrue(Math.abs(count - samples / 4) < 150, "Maze generated " + count + " times");
+        }
+    }
+
+    @Test
+    void testConstructor_whenFractionOutOfRange_throwsException(){
+        assertThrows(IllegalArgumentException.class, () -> new Wilsons(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new Wilsons(1.5));
+    }
+
+    /**
+     * Asserts that every cell of the grid is reachable from the first cell through exactly one path,
+     * i.e. that the links form a spanning tree.
+     */
+    private static void assertPerfectMaze(MazeGrid grid){
+        final var distances = new Dijkstra().getDistances(grid, 0);
+        var linkCount = 0;
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertTrue(distances.isDistanceSet(cell));
+            linkCount += grid.degree(cell);
+        }
+        assertEquals(2 * (grid.getCellCount() - 1), linkCount);
+    }
+}
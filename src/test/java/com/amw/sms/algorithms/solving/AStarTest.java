@@ -0,0 +1,111 @@
+package com.amw.sms.algorithms.solving;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AStarTest extends MazeSolveAlgorithmTest {
+    private AStar search;
+
+    @BeforeEach
+    void beforeEach(){
+        search = new AStar();
+    }
+
+    /**
+     * Get the specific algorithm instance to test.
+     * @return Instance of MazeSolveAlgorithm subtype to test.
+     */
+    @Override
+    protected MazeSolveAlgorithm getAlgorithmUnderTest(){
+        return search;
+    }
+
+    @Test
+    void testGetSolution_whenStartIsEnd_returnsOnlyThatCell(){
+        final var grid = new BitfieldGrid(3, 3);
+        assertArrayEquals(new int[]{ 4 }, search.getSolution(grid, 4, 4));
+    }
+
+    @Test
+    void testGetSolution_whenNoPath_returnsEmptyPath(){
+        final var grid = new BitfieldGrid(3, 3);
+        grid.link(0, 1);
+        grid.link(7, 8);
+        assertEquals(0, search.getSolution(grid, 0, 8).length);
+        assertEquals(0, search.getSolution(grid, 8, 0).length);
+    }
+
+    @Test
+    void testGetSolution_whenMazeHasLoops_returnsShortestPathLikeDijkstra(){
+        //Sidewinder maze with random extra links, so there are several paths of different lengths
+        final var rng = new SplittableRandom(5);
+        final var grid = new BitfieldGrid(20, 30);
+        new Sidewinder().apply(grid, rng);
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        for(var i = 0; i < 150; i++){
+            final var cell = rng.nextInt(grid.getCellCount());
+            grid.link(cell, neighbors[rng.nextInt(grid.getNeighbors(cell, neighbors))]);
+        }
+
+        final var dijk = new Dijkstra();
+        for(var i = 0; i < 200; i++){
+            final var start = rng.nextInt(grid.getCellCount());
+            final var end = rng.nextInt(grid.getCellCount());
+            final var path = search.getSolution(grid, start, end);
+
+            assertEquals(dijk.getSolution(grid, start, end).length, path.length);
+            assertEquals(start, path[0]);
+            assertEquals(end, path[path.length - 1]);
+            for(var step = 1; step < path.length; step++){
+                assertTrue(grid.isLinked(path[step - 1], path[step]));
+            }
+        }
+    }
+
+    @Test
+    void testGetSolution_whenDirectRouteIsBlocked_returnsDetourAroundWall(){
+        //Open 3x3 room, except for a wall between the middle of the top row and the center
+        final var grid = new BitfieldGrid(3, 3);
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            final var count = grid.getNeighbors(cell, neighbors);
+            for(var i = 0; i < count; i++) grid.link(cell, neighbors[i]);
+        }
+        grid.unlink(1, 4);
+
+        final var path = search.getSolution(grid, 1, 7);
+        assertEquals(5, path.length);
+        assertEquals(1, path[0]);
+        assertEquals(7, path[4]);
+        assertTrue(path[1] == 0 || path[1] == 2);
+    }
+
+    @Test
+    void testGetSolution_whenLargeGridSolvedAgain_reusesBuffers(){
+        //More cells than the buffers kept per thread, connected along the first row
+        final var grid = new BitfieldGrid(300, 300);
+        for(var cell = 0; cell < 299; cell++){
+            grid.link(cell, cell + 1);
+        }
+        search.getSolution(grid, 0, 299);
+        final var createdBuffers = AStar.getCreatedBuffers();
+
+        assertEquals(300, search.getSolution(grid, 299, 0).length);
+        assertEquals(0, search.getSolution(grid, 0, 300).length);
+        assertEquals(createdBuffers, AStar.getCreatedBuffers());
+    }
+}
@@ -0,0 +1,108 @@
+package com.amw.sms.algorithms.solving;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.MazeGrid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BidirectionalSearchTest extends MazeSolveAlgorithmTest {
+    private BidirectionalSearch search;
+
+    @BeforeEach
+    void beforeEach(){
+        search = new BidirectionalSearch();
+    }
+
+    /**
+     * Get the specific algorithm instance to test.
+     * @return Instance of MazeSolveAlgorithm subtype to test.
+     */
+    @Override
+    protected MazeSolveAlgorithm getAlgorithmUnderTest(){
+        return search;
+    }
+
+    @Test
+    void testGetSolution_whenStartIsEnd_returnsOnlyThatCell(){
+        final var grid = new BitfieldGrid(3, 3);
+        assertArrayEquals(new int[]{ 4 }, search.getSolution(grid, 4, 4));
+    }
+
+    @Test
+    void testGetSolution_whenNoPath_returnsEmptyPath(){
+        final var grid = new BitfieldGrid(3, 3);
+        grid.link(0, 1);
+        grid.link(7, 8);
+        assertEquals(0, search.getSolution(grid, 0, 8).length);
+        assertEquals(0, search.getSolution(grid, 8, 0).length);
+    }
+
+    @Test
+    void testGetSolution_whenMazeHasLoops_returnsShortestPathLikeDijkstra(){
+        //Sidewinder maze with random extra links, so there are several paths of different lengths
+        final var rng = new SplittableRandom(5);
+        final var grid = new BitfieldGrid(20, 30);
+        new Sidewinder().apply(grid, rng);
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        for(var i = 0; i < 150; i++){
+            final var cell = rng.nextInt(grid.getCellCount());
+            grid.link(cell, neighbors[rng.nextInt(grid.getNeighbors(cell, neighbors))]);
+        }
+
+        final var dijk = new Dijkstra();
+        for(var i = 0; i < 200; i++){
+            final var start = rng.nextInt(grid.getCellCount());
+            final var end = rng.nextInt(grid.getCellCount());
+            final var path = search.getSolution(grid, start, end);
+
+            assertEquals(dijk.getSolution(grid, start, end).length, path.length);
+            assertEquals(start, path[0]);
+            assertEquals(end, path[path.length - 1]);
+            for(var step = 1; step < path.length; step++){
+                assertTrue(grid.isLinked(path[step - 1], path[step]));
+            }
+        }
+    }
+
+    @Test
+    void testGetSolution_whenGridsOfDifferentSizesAreSolved_returnsPathForEach(){
+        final var large = new BitfieldGrid(1, 10);
+        for(var i = 0; i < 9; i++) large.link(i, i + 1);
+        final var small = new BitfieldGrid(1, 3);
+        small.link(0, 1);
+        small.link(1, 2);
+
+        assertEquals(10, search.getSolution(large, 0, 9).length);
+        assertArrayEquals(new int[]{ 0, 1, 2 }, search.getSolution(small, 0, 2));
+        assertArrayEquals(new int[]{ 9, 8, 7 }, search.getSolution(large, 9, 7));
+    }
+
+    @Test
+    void testGetSolution_whenLargeGridsSolvedAgain_reusesBuffers(){
+        //More cells than the buffers kept per thread, connected along the first row
+        final var larger = new BitfieldGrid(300, 300);
+        final var large = new BitfieldGrid(260, 260);
+        for(var cell = 0; cell < 259; cell++){
+            larger.link(cell, cell + 1);
+            large.link(cell, cell + 1);
+        }
+        search.getSolution(larger, 0, 259);
+        final var createdBuffers = BidirectionalSearch.getCreatedBuffers();
+
+        assertEquals(260, search.getSolution(large, 0, 259).length);
+        assertEquals(260, search.getSolution(larger, 259, 0).length);
+        assertEquals(createdBuffers, BidirectionalSearch.getCreatedBuffers());
+    }
+}
@@ -0,0 +1,242 @@
+package com.amw.sms.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for BitfieldGrid.
+ */
+public class BitfieldGridTest {
+    @Test
+    void testConstructor_whenSizeInvalid_throwsIllegalArgumentException(){
+        assertThrows(IllegalArgumentException.class, () -> new BitfieldGrid(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new BitfieldGrid(5, -1));
+        assertThrows(IllegalArgumentException.class, () -> new BitfieldGrid(100_000, 100_000));
+    }
+
+    @Test
+    void testIndexOf_returnsRowMajorIndex(){
+        final var grid = new BitfieldGrid(4, 5);
+
+        assertEquals(0, grid.indexOf(0, 0));
+        assertEquals(7, grid.indexOf(1, 2));
+        assertEquals(19, grid.indexOf(3, 4));
+        assertEquals(1, grid.rowOf(7));
+        assertEquals(2, grid.columnOf(7));
+    }
+
+    @Test
+    void testIndexOf_whenOutsideGrid_returnsNoCell(){
+        final var grid = new BitfieldGrid(4, 5);
+
+        assertEquals(BitfieldGrid.NO_CELL, grid.indexOf(-1, 0));
+        assertEquals(BitfieldGrid.NO_CELL, grid.indexOf(4, 0));
+        assertEquals(BitfieldGrid.NO_CELL, grid.indexOf(0, -1));
+        assertEquals(BitfieldGrid.NO_CELL, grid.indexOf(0, 5));
+    }
+
+    @Test
+    void testNeighbors_innerCellHasAllNeighbors(){
+        final var grid = new BitfieldGrid(4, 5);
+        final var cell = grid.indexOf(1, 2);
+
+        assertEquals(grid.indexOf(0, 2), grid.north(cell));
+        assertEquals(grid.indexOf(1, 3), grid.east(cell));
+        assertEquals(grid.indexOf(2, 2), grid.south(cell));
+        assertEquals(grid.indexOf(1, 1), grid.west(cell));
+    }
+
+    @Test
+    void testNeighbors_cornerCellsHaveNoOuterNeighbors(){
+        final var grid = new BitfieldGrid(4, 5);
+        final var first = grid.indexOf(0, 0);
+        final var last = grid.indexOf(3, 4);
+
+        assertEquals(BitfieldGrid.NO_CELL, grid.north(first));
+        assertEquals(BitfieldGrid.NO_CELL, grid.west(first));
+        assertEquals(BitfieldGrid.NO_CELL, grid.south(last));
+        assertEquals(BitfieldGrid.NO_CELL, grid.east(last));
+    }
+
+    @Test
+    void testLink_andTestIsLinked_linkedCellsAreLinkedInBothDirections(){
+        final var grid = new BitfieldGrid(4, 5);
+        final var cell = grid.indexOf(1, 2);
+
+        grid.link(cell, grid.north(cell));
+        grid.link(grid.west(cell), cell);
+
+        assertTrue(grid.isLinked(cell, grid.north(cell)));
+        assertTrue(grid.isLinked(grid.north(cell), cell));
+        assertTrue(grid.isLinked(cell, grid.west(cell)));
+        assertFalse(grid.isLinked(cell, grid.east(cell)));
+        assertFalse(grid.isLinked(cell, grid.south(cell)));
+    }
+
+    @Test
+    void testLink_whenCellsAreNotNeighbors_throwsIllegalArgumentException(){
+        final var grid = new BitfieldGrid(4, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> grid.link(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> grid.link(4, 5));    //Row wrap-around
+        assertFalse(grid.isLinked(4, 5));
+    }
+
+    @Test
+    void testUnlink_andTestIsLinked_unlinkedCellsAreNotLinked(){
+        final var grid = new BitfieldGrid(4, 5);
+        grid.link(6, 7);
+        grid.link(6, 11);
+
+        grid.unlink(7, 6);
+
+        assertFalse(grid.isLinked(6, 7));
+        assertTrue(grid.isLinked(6, 11));
+    }
+
+    @Test
+    void testDegree_andTestGetLinks_returnAllLinkedCells(){
+        final var grid = new BitfieldGrid(4, 5);
+        final var cell = grid.indexOf(1, 2);
+        grid.link(cell, grid.north(cell));
+        grid.link(cell, grid.east(cell));
+        grid.link(cell, grid.west(cell));
+
+        final var buffer = new int[4];
+        final var count = grid.getLinks(cell, buffer);
+
+        assertEquals(3, grid.degree(cell));
+        assertEquals(3, count);
+        final var links = Arrays.copyOf(buffer, count);
+        Arrays.sort(links);
+        assertTrue(Arrays.equals(new int[]{grid.north(cell), grid.west(cell), grid.east(cell)}, links));
+    }
+
+    @Test
+    void testToString_matchesGridRepresentationOfSameMaze(){
+        final var grid = new Grid(3, 4);
+        final var bitfieldGrid = new BitfieldGrid(3, 4);
+        final int[][] sampleLinks = {{0, 1}, {1, 2}, {2, 6}, {6, 7}, {3, 7}, {4, 8}, {5, 9}, {9, 10}, {10, 11}, {1, 5}, {4, 5}};
+
+        for(final var link : sampleLinks){
+            bitfieldGrid.link(link[0], link[1]);
+            grid.getCell(link[0] / 4, link[0] % 4).get()
+                .link(grid.getCell(link[1] / 4, link[1] % 4).get());
+        }
+
+        assertEquals(grid.toString(), bitfieldGrid.toString());
+    }
+
+    @Test
+    void testSetLinkWord_linksCellsStoredInWord(){
+        final var grid = new BitfieldGrid(2, 40);
+
+        //Cell 0 links east, cell 1 links south, cell 33 (second word) links east
+        grid.setLinkWord(0, 0b1001L);
+        grid.setLinkWord(1, 0b0100L);
+
+        assertEquals(3, grid.getWordCount());
+        assertTrue(grid.isLinked(0, 1));
+        assertTrue(grid.isLinked(1, 41));
+        assertTrue(grid.isLinked(33, 34));
+        assertEquals(2, grid.degree(1));
+    }
+
+    @Test
+    void testSetLinkWord_whenLinkingOutsideGrid_throwsIllegalArgumentException(){
+        final var grid = new BitfieldGrid(2, 40);
+
+        //Cell 39 is at the eastern edge; cell 40 is in the last row
+        assertThrows(IllegalArgumentException.class, () -> grid.setLinkWord(1, 1L << (2 * 7)));
+        assertThrows(IllegalArgumentException.class, () -> grid.setLinkWord(1, 2L << (2 * 8)));
+    }
+
+    @Test
+    void testLinkAll_linksEveryCellToAllOfItsNeighbors(){
+        final var grid = new BitfieldGrid(3, 40);
+        grid.link(0, 1);
+
+        grid.linkAll();
+        final var expectedGrid = new Grid(3, 40);
+        expectedGrid.linkAll();
+
+        final var neighbors = new int[BitfieldGrid.MAX_NEIGHBORS];
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertEquals(grid.getNeighbors(cell, neighbors), grid.degree(cell));
+        }
+        assertEquals(expectedGrid.toString(), grid.toString());
+    }
+
+    @Test
+    void testLinksOnlyNeighbors_isTrue(){
+        assertTrue(new BitfieldGrid(2, 3).linksOnlyNeighbors());
+    }
+
+    @Test
+    void testGetModificationCount_whenLinksChange_changes(){
+        final var grid = new BitfieldGrid(2, 40);
+
+        final var initialCount = grid.getModificationCount();
+        grid.link(0, 1);
+        final var linkedCount = grid.getModificationCount();
+        grid.setLinkWord(1, 0b0100L);
+        final var wordCount = grid.getModificationCount();
+        grid.unlink(0, 1);
+
+        assertNotEquals(initialCount, linkedCount);
+        assertNotEquals(linkedCount, wordCount);
+        assertNotEquals(wordCount, grid.getModificationCount());
+    }
+
+    @Test
+    void testGetModificationCount_whenLinkedConcurrently_countsEveryChangedLink() throws Exception {
+        final var grid = new BitfieldGrid(64, 64);
+        final var pool = new ForkJoinPool(8);
+        try{
+            //Every eastern link is made twice and every cell in an even column then drops it, all from many threads
+            //at once. Only the links that actually changed are counted.
+            pool.submit(() -> IntStream.range(0, 2 * grid.getCellCount()).parallel().forEach((var i) -> {
+                final var cell = i % grid.getCellCount();
+                final var east = grid.east(cell);
+                if(east != MazeGrid.NO_CELL) grid.link(cell, east);
+            })).get();
+            pool.submit(() -> IntStream.range(0, grid.getCellCount()).parallel().forEach((var cell) -> {
+                final var east = grid.east(cell);
+                if(east != MazeGrid.NO_CELL && grid.columnOf(cell) % 2 == 0) grid.unlink(cell, east);
+            })).get();
+        }
+        finally{
+            pool.shutdown();
+        }
+
+        assertEquals(64 * 63 + 64 * 32, grid.getModificationCount());
+    }
+
+    @Test
+    void testAddChangeListener_whenLinksChange_listenerIsToldEachAddedAndRemovedLink(){
+        final var grid = new BitfieldGrid(2, 40);
+        final var listener = Mockito.mock(GridChangeListener.class);
+        grid.addChangeListener(listener);
+
+        grid.link(1, 0);
+        grid.link(0, 1);       //Already linked
+        grid.unlink(0, 40);    //Not linked
+        grid.setLinkWord(0, 0b0100L);   //Removes 0-1, adds 1-2
+
+        final var inOrder = Mockito.inOrder(listener);
+        inOrder.verify(listener).linkAdded(1, 0);
+        inOrder.verify(listener).linkRemoved(0, 1);
+        inOrder.verify(listener).linkAdded(1, 2);
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+}
@@ -1,7 +1,10 @@
 package com.amw.sms.grid;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -9,86 +12,87 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
 /**
  * Test CellDistances class.
+ * Distances are stored per cell index, so the cells used are taken from an actual grid.
  */
-@ExtendWith(MockitoExtension.class)
 public class CellDistancesTest {
-    @Mock
-    private Grid mockGrid;
+    private Grid grid;
 
-    //Cell mocks
-    @Mock private Cell mockCell1;
-    @Mock private Cell mockCell2;
-    @Mock private Cell mockCell3;
-    @Mock private Cell mockRoot;
+    private Cell cell1;
+    private Cell cell2;
+    private Cell cell3;
+    private Cell rootCell;
 
     private CellDistances distances; //Distances instance using root cell. No distances set.
 
     @BeforeEach
     void beforeEach(){
-        distances = new CellDistances(mockGrid, mockRoot);
+        grid = new Grid(3, 3);
+        rootCell = grid.getCell(1, 1).get();
+        cell1 = grid.getCell(0, 0).get();
+        cell2 = grid.getCell(0, 2).get();
+        cell3 = grid.getCell(2, 1).get();
+
+        distances = new CellDistances(grid, rootCell);
     }
 
     @Test
     void testSetDistance_andTestGetCells_returnsCollectionContainingCell() {
-        distances.setDistance(mockCell1, 3);
-        assertTrue(distances.getCells().contains(mockCell1));
+        distances.setDistance(cell1, 3);
+        assertTrue(distances.getCells().contains(cell1));
     }
 
     @Test
     void testSetDistance_andTestGetDistance_returnsTheSetDistance() {
-        distances.setDistance(mockCell1, 3);
-        assertEquals(3, distances.getDistance(mockCell1));
+        distances.setDistance(cell1, 3);
+        assertEquals(3, distances.getDistance(cell1));
 
-        distances.setDistance(mockCell2, 100);
-        assertEquals(100, distances.getDistance(mockCell2));
+        distances.setDistance(cell2, 100);
+        assertEquals(100, distances.getDistance(cell2));
     }
 
     @Test
     void testGetDistance_returnsZeroForRootCell() {
-        assertEquals(0, distances.getDistance(mockRoot));
+        assertEquals(0, distances.getDistance(rootCell));
     }
 
     @Test
     void testGetDistance_returnsNegativeOneForUnknownCell() {
-        assertEquals(-1, distances.getDistance(mockCell1));
+        assertEquals(-1, distances.getDistance(cell1));
     }
 
     @Test
     void testIsDistanceSet_returnTrueIfCellDistanceIsSet(){
-        distances.setDistance(mockCell1, 3);
-        assertTrue(distances.isDistanceSet(mockCell1));
+        distances.setDistance(cell1, 3);
+        assertTrue(distances.isDistanceSet(cell1));
     }
 
     @Test
     void testIsDistanceSet_returnFalseIfCellDistanceIsUnset(){
-        assertFalse(distances.isDistanceSet(mockCell1));
+        assertFalse(distances.isDistanceSet(cell1));
     }
 
     @Test
     void testGetCells_andTestSetDistance_returnsCollectionContainingAllAddedCells() {
-        distances.setDistance(mockCell1, 1);
-        distances.setDistance(mockCell2, 2);
-        distances.setDistance(mockCell3, 3);
+        distances.setDistance(cell1, 1);
+        distances.setDistance(cell2, 2);
+        distances.setDistance(cell3, 3);
 
         final var cells = distances.getCells();
         assertEquals(4, cells.size());
-        assertTrue(cells.contains(mockRoot));
-        assertTrue(cells.contains(mockCell1));
-        assertTrue(cells.contains(mockCell2));
-        assertTrue(cells.contains(mockCell3));
+        assertTrue(cells.contains(rootCell));
+        assertTrue(cells.contains(cell1));
+        assertTrue(cells.contains(cell2));
+        assertTrue(cells.contains(cell3));
     }
 
     @Test
     void testGetCells_andTestSetDistance_andTestGetDistance_returnsCollectionContainingCellsThatHaveASetDistance() {
-        distances.setDistance(mockCell1, 1);
-        distances.setDistance(mockCell2, 2);
-        distances.setDistance(mockCell3, 3);
+        distances.setDistance(cell1, 1);
+        distances.setDistance(cell2, 2);
+        distances.setDistance(cell3, 3);
 
         distances.getCells()
             .stream()
@@ -97,41 +101,111 @@ public class CellDistancesTest {
 
     @Test 
     void testGetRootCell_returnsRootCell(){
-        assertEquals(mockRoot, distances.getRootCell());
+        assertEquals(rootCell, distances.getRootCell());
     }
 
     @Test
     void testGetFurthestCell__andTestSetDistance_returnsCellWithGreatestDistanceFromRoot(){
-        distances.setDistance(mockCell1, 1);
-        distances.setDistance(mockCell2, 300);
-        distances.setDistance(mockCell3, 20);
+        distances.setDistance(cell1, 1);
+        distances.setDistance(cell2, 300);
+        distances.setDistance(cell3, 20);
 
-        assertEquals(mockCell2, distances.getFurthestCell());
+        assertEquals(cell2, distances.getFurthestCell());
     }
 
     @Test
     void testGetFurthestCell_whenNoCellsSet_returnsRoot(){
-        assertEquals(mockRoot, distances.getFurthestCell());
+        assertEquals(rootCell, distances.getFurthestCell());
     }
 
     @Test
     void testGetCellContents_andTestSetDistance_returnsCellDistanceAsString(){
-        distances.setDistance(mockCell1, 5);
-        distances.setDistance(mockCell2, 9);
-        assertEquals("5", distances.getCellContents(mockCell1));
+        distances.setDistance(cell1, 5);
+        distances.setDistance(cell2, 9);
+        assertEquals("5", distances.getCellContents(cell1));
     }
 
     @Test
     void testGetCellContents_andTestSetDistance_returnsCellDistanceAsBase32String(){
-        distances.setDistance(mockCell1, 15);
-        distances.setDistance(mockCell2, 30);
-        assertEquals("F", distances.getCellContents(mockCell1).toUpperCase());
+        distances.setDistance(cell1, 15);
+        distances.setDistance(cell2, 30);
+        assertEquals("F", distances.getCellContents(cell1).toUpperCase());
+    }
+
+    @Test
+    void testSetDistance_andTestGetDistance_usingIndexes_matchesCellBasedDistances(){
+        distances.setDistance(grid.indexOf(cell1), 7);
+
+        assertEquals(7, distances.getDistance(cell1));
+        assertEquals(0, distances.getDistance(distances.getRootIndex()));
+        assertFalse(distances.isDistanceSet(grid.indexOf(cell2)));
+    }
+
+    @Test
+    void testGetDistance_whenCellOutsideGrid_returnsNegativeOne(){
+        assertEquals(-1, distances.getDistance(new Cell(10, 10)));
+        assertFalse(distances.isDistanceSet(new Cell(-1, 0)));
+    }
+
+    @Test
+    void testGetFurthestIndex_andTestSetDistance_returnsIndexOfCellWithGreatestDistanceFromRoot(){
+        distances.setDistance(cell1, 4);
+        distances.setDistance(cell3, 2);
+
+        assertEquals(grid.indexOf(cell1), distances.getFurthestIndex());
     }
 
     @Test
     void testGetCellContents_andTestSetDistance_whenCellIsUnset_returnsDefaultValueFromGridDataParentClass(){
-        distances.setDistance(mockCell1, 10);
-        final var expectedDefaultContents = new SampleGridDataImpl(mockGrid).getCellContents(mockCell2); 
-        assertEquals(expectedDefaultContents, distances.getCellContents(mockCell2));
+        distances.setDistance(cell1, 10);
+        final var expectedDefaultContents = new SampleGridDataImpl(grid).getCellContents(cell2); 
+        assertEquals(expectedDefaultContents, distances.getCellContents(cell2));
+    }
+
+    @Test
+    void testGetPathTo_whenCellsLinkedToRoot_returnsPathFromRootToCell(){
+        final var root = grid.indexOf(rootCell);
+        final var below = grid.indexOf(cell3);
+        final var corner = grid.indexOf(2, 2);
+        grid.link(root, below);
+        grid.link(below, corner);
+        distances.setDistance(below, 1);
+        distances.setDistance(corner, 2);
+
+        assertArrayEquals(new int[]{ root, below, corner }, distances.getPathTo(corner));
+        assertArrayEquals(new int[]{ root }, distances.getPathTo(root));
+    }
+
+    @Test
+    void testGetPathTo_whenCellIsUnset_returnsEmptyPath(){
+        assertEquals(0, distances.getPathTo(grid.indexOf(cell1)).length);
+    }
+
+    @Test
+    void testGetPathTo_whenLinksChangedSinceDistancesWereSet_returnsEmptyPath(){
+        final var root = grid.indexOf(rootCell);
+        final var below = grid.indexOf(cell3);
+        final var corner = grid.indexOf(2, 2);
+        grid.link(root, below);
+        grid.link(below, corner);
+        distances.setDistance(below, 1);
+        distances.setDistance(corner, 2);
+
+        grid.unlink(root, below);
+
+        assertEquals(0, distances.getPathTo(corner).length);
+    }
+
+    @Test
+    void testAsReadOnly_sharesDistancesButCannotSetThem(){
+        distances.setDistance(cell1, 3);
+        final var readOnly = distances.asReadOnly();
+        distances.setDistance(cell2, 4);
+
+        assertEquals(3, readOnly.getDistance(cell1));
+        assertEquals(4, readOnly.getDistance(cell2));
+        assertFalse(distances.isReadOnly());
+        assertSame(readOnly, readOnly.asReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.setDistance(cell1, 5));
     }
 }
@@ -1,8 +1,10 @@
 package com.amw.sms.grid;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 
 import java.util.Arrays;
 import java.util.List;
@@ -204,6 +206,102 @@ public class GridTest {
         assertEquals(10, grid.getColumnCount());
     }
 
+    @Test
+    void testCellAt_andTestIndexOf_mapBetweenCellsAndRowMajorIndexes(){
+        final var grid = new Grid(9, 10);
+        final var cell = grid.getCell(5, 7).get();
+
+        assertEquals(57, grid.indexOf(cell));
+        assertEquals(cell, grid.cellAt(57));
+    }
+
+    @Test
+    void testLink_usingIndexes_andTestGetLinks_linksUnderlyingCells(){
+        final var grid = new Grid(9, 10);
+        final var cell = grid.indexOf(5, 7);
+        grid.link(cell, grid.north(cell));
+        grid.link(grid.east(cell), cell);
+
+        final var links = new int[MazeGrid.MAX_NEIGHBORS];
+        final var count = grid.getLinks(cell, links);
+
+        assertEquals(2, grid.degree(cell));
+        assertEquals(2, count);
+        assertTrue(grid.isLinked(grid.north(cell), cell));
+        assertTrue(grid.cellAt(cell).isLinkedTo(grid.cellAt(grid.east(cell))));
+        assertTrue(Arrays.stream(links, 0, count).anyMatch((var link) -> link == grid.north(cell)));
+        assertTrue(Arrays.stream(links, 0, count).anyMatch((var link) -> link == grid.east(cell)));
+    }
+
+    @Test
+    void testLinkAll_linksEveryCellToAllOfItsNeighbors(){
+        final var grid = new Grid(9, 10);
+
+        grid.linkAll();
+
+        final var neighbors = new int[MazeGrid.MAX_NEIGHBORS];
+        for(var cell = 0; cell < grid.getCellCount(); cell++){
+            assertEquals(grid.getNeighbors(cell, neighbors), grid.degree(cell));
+        }
+    }
+
+    @Test
+    void testGetModificationCount_whenCellsLinkedOrUnlinked_changes(){
+        final var grid = new Grid(9, 10);
+        final var cell1 = grid.getCell(5, 7).get();
+        final var cell2 = grid.getCell(5, 8).get();
+
+        final var initialCount = grid.getModificationCount();
+        cell1.link(cell2);
+        final var linkedCount = grid.getModificationCount();
+        grid.unlink(grid.indexOf(cell1), grid.indexOf(cell2));
+
+        assertNotEquals(initialCount, linkedCount);
+        assertNotEquals(linkedCount, grid.getModificationCount());
+    }
+
+    @Test
+    void testGetModificationCount_whenLinkAlreadyExists_doesNotChange(){
+        final var grid = new Grid(9, 10);
+        final var cell1 = grid.getCell(5, 7).get();
+        final var cell2 = grid.getCell(5, 8).get();
+        cell1.link(cell2);
+
+        final var linkedCount = grid.getModificationCount();
+        cell2.link(cell1);
+
+        assertEquals(linkedCount, grid.getModificationCount());
+    }
+
+    @Test
+    void testAddChangeListener_whenCellsLinkedAndUnlinked_listenerIsToldEachChange(){
+        final var grid = new Grid(9, 10);
+        final var listener = Mockito.mock(GridChangeListener.class);
+        final var cell1 = grid.getCell(5, 7).get();
+        final var cell2 = grid.getCell(5, 8).get();
+        grid.addChangeListener(listener);
+
+        cell1.link(cell2);
+        cell2.link(cell1);     //Already linked
+        grid.unlink(57, 58);
+
+        Mockito.verify(listener, times(1)).linkAdded(57, 58);
+        Mockito.verify(listener, times(1)).linkRemoved(57, 58);
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    void testRemoveChangeListener_listenerIsNoLongerTold(){
+        final var grid = new Grid(9, 10);
+        final var listener = Mockito.mock(GridChangeListener.class);
+        grid.addChangeListener(listener);
+        grid.removeChangeListener(listener);
+
+        grid.link(57, 58);
+
+        Mockito.verifyNoInteractions(listener);
+    }
+
     @Test
     void testSetGridData_andGetGridData_setsGridDataAsExpected(){
         final var grid = new Grid(9, 10);
@@ -378,6 +476,21 @@ public class GridTest {
         assertEquals("", grid.getCellDataDisplayString(mockCellOffPath).trim());       
     }
 
+    @Test
+    void testDisplayPathExclusively_andGetCellDataDisplayString_whenPathCleared_gridDataOnTheOldPathIsReplacedWithWhitespace(){
+        final var grid = new Grid(9, 10);
+        grid.setGridData(mockGridData);
+        Mockito.lenient()
+            .when(mockGridData.getCellContents(any()))
+            .thenReturn("AAA");
+        grid.setPath(samplePath);
+        grid.clearPath();
+
+        grid.displayPathExclusively();
+
+        assertEquals("", grid.getCellDataDisplayString(samplePath.get(0)).trim());
+    }
+
     @Test
     void testDisplayPathExclusively_andGetCellDataDisplayString_gridDataOnThePathIsDisplayedAsString(){
         final var grid = new Grid(9, 10);
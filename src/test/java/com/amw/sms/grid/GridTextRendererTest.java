@@ -0,0 +1,101 @@
+package com.amw.sms.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for GridTextRenderer.
+ */
+public class GridTextRendererTest {
+    private static final int[][] SAMPLE_LINKS = {{0, 1}, {1, 2}, {2, 6}, {6, 7}, {3, 7}, {4, 8}, {5, 9}, {9, 10}, {10, 11}, {1, 5}, {4, 5}};
+
+    private Grid grid;
+
+    @BeforeEach
+    void setup(){
+        this.grid = new Grid(3, 4);
+        for(final var link : SAMPLE_LINKS){
+            this.grid.link(link[0], link[1]);
+        }
+    }
+
+    @Test
+    void testRender_returnsExpectedString(){
+        final var expected =
+            "+---+---+---+---+\n" +
+            "|           |   |\n" +
+            "+----   |   |   |\n" +
+            "|       |       |\n" +
+            "+   |   +-------+\n" +
+            "|   |           |\n" +
+            "+---+-----------+\n";
+
+        assertEquals(expected, new GridTextRenderer().render(this.grid));
+    }
+
+    @Test
+    void testRender_withCellContents_displaysContentsInCells(){
+        final var distances = new CellDistances(this.grid, 0);
+        distances.setDistance(5, 2);
+        distances.setDistance(11, 35);
+        this.grid.setGridData(distances);
+
+        final var expected =
+            "+---+---+---+---+\n" +
+            "| 0       |  |\n" +
+            "+----   |   |   |\n" +
+            "|    2 |     |\n" +
+            "+   |   +-------+\n" +
+            "|  |       13 |\n" +
+            "+---+-----------+\n";
+
+        assertEquals(expected, this.grid.toString());
+    }
+
+    @Test
+    void testRender_usingWriter_writesSameTextAsToString() throws IOException {
+        final var output = new StringWriter();
+
+        this.grid.write(output);
+
+        assertEquals(this.grid.toString(), output.toString());
+    }
+
+    @Test
+    void testRender_whenBitfieldGrid_writesSameTextAsGrid() throws IOException {
+        final var bitfieldGrid = new BitfieldGrid(3, 4);
+        for(final var link : SAMPLE_LINKS){
+            bitfieldGrid.link(link[0], link[1]);
+        }
+        final var output = new StringWriter();
+
+        bitfieldGrid.write(output);
+
+        assertEquals(this.grid.toString(), output.toString());
+    }
+
+    @Test
+    void testRender_whenOutputFails_throwsIOException(){
+        final var output = new Writer(){
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("closed");
+            }
+
+            @Override
+            public void flush(){}
+
+            @Override
+            public void close(){}
+        };
+
+        assertThrows(IOException.class, () -> new GridTextRenderer().render(this.grid, output));
+    }
+}
@@ -1,6 +1,7 @@
 package com.amw.sms.mazes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.amw.sms.algorithms.AlgorithmFactory;
 import com.amw.sms.grid.GridFactory;
@@ -38,5 +39,6 @@ public class MazeBuilderFactoryTest {
         assertEquals(mockGridFactory, mazeBuilder.getGridFactory());
         assertEquals(mockGoalBuilderFactory, mazeBuilder.getGoalBuilderFactory());
         assertEquals(mockAlgorithmFactory, mazeBuilder.getAlgorithmFactory());
+        assertTrue(mazeBuilder.getTracer().isEmpty());
     }
 }
@@ -0,0 +1,83 @@
+package com.amw.sms.mazes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.amw.sms.algorithms.AlgorithmFactory;
+import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
+import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.grid.GridFactory;
+import com.amw.sms.mazes.goals.MazeGoalBuilderFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Integration tests for MazeBuilder that generate real mazes, using actual Grid and generation algorithms underneath.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MazeBuilderIntegrationTest {
+    @Mock 
+    private AlgorithmFactory mockAlgorithmFactory;
+
+    @Mock
+    private MazeGenAlgorithm mockMazeGenAlgorithm;
+
+    private GridFactory gridFactory;
+    private MazeGoalBuilderFactory goalBuilderFactory;
+
+    @BeforeEach
+    void beforeEach(){
+        //Mocks
+        Mockito.when(mockAlgorithmFactory.getGenerationAlgorithm())
+           .thenReturn(mockMazeGenAlgorithm);
+
+        //Actual factories
+        this.gridFactory = new GridFactory();
+        this.goalBuilderFactory = new MazeGoalBuilderFactory();
+    }
+
+    /* Seeds */
+    @Test
+    void testWithSeed_whenSameSeed_returnsSameMaze() throws InvalidMazeException {
+        final var maze1 = new MazeBuilder(this.gridFactory, this.goalBuilderFactory , mockAlgorithmFactory)
+            .withSize(8, 9)
+            .withSeed(42L)
+            .usingAlgorithm(new Sidewinder())
+            .usingRandomStart()
+            .usingRandomEnd()
+            .build();
+        final var maze2 = new MazeBuilder(this.gridFactory, this.goalBuilderFactory , mockAlgorithmFactory)
+            .withSize(8, 9)
+            .withSeed(42L)
+            .usingAlgorithm(new Sidewinder())
+            .usingRandomStart()
+            .usingRandomEnd()
+            .build();
+
+        assertEquals(maze1.toString(), maze2.toString());
+        assertEquals(maze1.getGrid().indexOf(maze1.getStartCell()), maze2.getGrid().indexOf(maze2.getStartCell()));
+        assertEquals(maze1.getGrid().indexOf(maze1.getEndCell()), maze2.getGrid().indexOf(maze2.getEndCell()));
+    }
+
+    @Test
+    void testWithSeed_whenDifferentSeeds_returnsDifferentMazes() throws InvalidMazeException {
+        final var maze1 = new MazeBuilder(this.gridFactory, this.goalBuilderFactory , mockAlgorithmFactory)
+            .withSize(8, 9)
+            .withSeed(42L)
+            .usingAlgorithm(new BinaryTree())
+            .build();
+        final var maze2 = new MazeBuilder(this.gridFactory, this.goalBuilderFactory , mockAlgorithmFactory)
+            .withSize(8, 9)
+            .withSeed(43L)
+            .usingAlgorithm(new BinaryTree())
+            .build();
+
+        assertNotEquals(maze1.toString(), maze2.toString());
+    }
+}
@@ -7,13 +7,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 
+import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.stream.Stream;
 
 import com.amw.sms.algorithms.AlgorithmFactory;
 import com.amw.sms.algorithms.Dijkstra;
 import com.amw.sms.algorithms.generation.MazeGenAlgorithm;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
 import com.amw.sms.grid.Cell;
 import com.amw.sms.grid.CellDistances;
 import com.amw.sms.grid.Grid;
@@ -105,7 +109,8 @@ public class MazeBuilderTest {
             Mockito.when(mockGoalBuilder.atStart())
                 .thenReturn(mockMazeGoal1);
 
-            Mockito.when(mockMazeGoal1.getCell())
+            //Not always called internally
+            Mockito.lenient().when(mockMazeGoal1.getCell())
                 .thenReturn(mockCell1);
         }
 
@@ -280,7 +285,7 @@ public class MazeBuilderTest {
             .build();
 
         Mockito.verify(mockGenAlgorithm1, times(1))
-            .apply(mockGrid);
+            .apply(eq(mockGrid), any());
     }
 
     @Test
@@ -296,11 +301,11 @@ public class MazeBuilderTest {
 
         //Provided algorithm called
         Mockito.verify(mockGenAlgorithm2, times(1))
-            .apply(mockGrid);
+            .apply(eq(mockGrid), any());
 
         //Default algorithm not called
         Mockito.verify(mockGenAlgorithm1, times(0))
-            .apply(mockGrid);
+            .apply(eq(mockGrid), any());
     }
 
     @Test
@@ -309,9 +314,12 @@ public class MazeBuilderTest {
         mockGridFactory();
         mockDefaultMazeGoals(false, false);
 
-        //Mock results of the two calls to goal buildr
+        //First search finds the entrance, second search from the entrance finds the exit
         Mockito.when(mockGoalBuilder.farthestFrom(any()))
-            .thenReturn(mockMazeGoal1)
+            .thenReturn(mockMazeGoal1);
+        Mockito.when(mockDijkstra.getDistances(mockGrid, mockCell1))
+            .thenReturn(mockDistances);
+        Mockito.when(mockGoalBuilder.farthestIn(mockDistances))
             .thenReturn(mockMazeGoal2);
 
         //Mock goals
@@ -325,17 +333,43 @@ public class MazeBuilderTest {
             .build();
 
         //Assert longest path used:
-        //1. farthestFrom called twice
-        ArgumentCaptor<Cell> cellCaptor = ArgumentCaptor.forClass(Cell.class);
-        Mockito.verify(mockGoalBuilder, times(2))
-            .farthestFrom(cellCaptor.capture());
-
-        //2. Second call uses result of first call => furthest path used
-        assertEquals(mockCell1, cellCaptor.getAllValues().get(1));
+        //1. Exactly two searches: one for the entrance, one from the entrance for the exit
+        Mockito.verify(mockGoalBuilder, times(1))
+            .farthestFrom(any());
+        Mockito.verify(mockDijkstra, times(1))
+            .getDistances(any(Grid.class), any(Cell.class));
 
-        //3. Resulting cells are used for start and finish
+        //2. Resulting cells are used for start and finish
         assertEquals(mockCell1, maze.getStartCell());
         assertEquals(mockCell2, maze.getEndCell());
+
+        //3. Second search is kept for solving
+        assertEquals(Optional.of(mockDistances), maze.getDistancesFromStart());
+    }
+
+    @Test
+    void testUsingLongestPath_andShowDistances_reusesSecondSearchForDisplay() throws InvalidMazeException {
+        mockGridFactory();
+        mockDefaultMazeGoals(false, false);
+
+        Mockito.when(mockGoalBuilder.farthestFrom(any()))
+            .thenReturn(mockMazeGoal1);
+        Mockito.when(mockDijkstra.getDistances(mockGrid, mockCell1))
+            .thenReturn(mockDistances);
+        Mockito.when(mockGoalBuilder.farthestIn(mockDistances))
+            .thenReturn(mockMazeGoal2);
+        Mockito.when(mockMazeGoal1.getCell()).thenReturn(mockCell1);
+
+        newMockedMazeBuilder()
+            .usingLongestPath()
+            .withSize(5, 5)
+            .showDistances()
+            .build();
+
+        Mockito.verify(mockDijkstra, times(1))
+            .getDistances(any(Grid.class), any(Cell.class));
+        Mockito.verify(mockGrid, times(1))
+            .setGridData(mockDistances);
     }
 
     @Test
@@ -371,4 +405,77 @@ public class MazeBuilderTest {
         Mockito.verify(mockGrid, times(1))
             .setGridData(mockDistances);
     }
+
+    @Test
+    void testWithSeed_gridAndAlgorithmShareSeededRandomGenerator() throws InvalidMazeException {
+        mockGridFactory();
+        mockDefaultMazeGoals();
+
+        newMockedMazeBuilder()
+            .withSize(5, 6)
+            .withSeed(42L)
+            .build();
+
+        final var rngCaptor = ArgumentCaptor.forClass(SplittableRandom.class);
+        Mockito.verify(mockGenAlgorithm1, times(1))
+            .apply(eq(mockGrid), rngCaptor.capture());
+        Mockito.verify(mockGrid, times(1))
+            .setRandomGenerator(rngCaptor.getValue());
+    }
+
+    @Test
+    void testUsingAlgorithm_withType_returnsMazeBuiltFromFactoryAlgorithmWithTypeRecorded() throws InvalidMazeException {
+        mockGridFactory();
+        mockDefaultMazeGoals();
+        Mockito.when(mockAlgorithmFactory.getGenerationAlgorithm(MazeGenAlgorithmType.BINARY_TREE))
+            .thenReturn(mockGenAlgorithm2);
+
+        final var maze = newMockedMazeBuilder()
+            .usingAlgorithm(MazeGenAlgorithmType.BINARY_TREE)
+            .withSize(5, 5)
+            .withSeed(7L)
+            .build();
+
+        Mockito.verify(mockGenAlgorithm2, times(1))
+            .apply(eq(mockGrid), any());
+        assertEquals(Optional.of(MazeGenAlgorithmType.BINARY_TREE), maze.getAlgorithmType());
+        assertEquals(Optional.of(7L), maze.getSeed());
+    }
+
+    @Test
+    void testWithTracer_tracesEveryPhaseInOrder() throws InvalidMazeException {
+        mockGridFactory();
+        mockDefaultMazeGoals();
+        Mockito.when(mockDijkstra.getDistances(mockGrid, mockCell1))
+            .thenReturn(mockDistances);
+        final var mockTracer = Mockito.mock(MazeBuildTracer.class);
+
+        newMockedMazeBuilder()
+            .withSize(5, 6)
+            .withTracer(mockTracer)
+            .showDistances()
+            .build();
+
+        final var inOrder = Mockito.inOrder(mockTracer);
+        for(final var phase : MazeBuildPhase.values()){
+            inOrder.verify(mockTracer).phaseCompleted(eq(phase), any());
+        }
+    }
+
+    @Test
+    void testWithTracer_whenDistancesNotShown_distancesPhaseIsNotTraced() throws InvalidMazeException {
+        mockGridFactory();
+        mockDefaultMazeGoals();
+        final var mockTracer = Mockito.mock(MazeBuildTracer.class);
+
+        newMockedMazeBuilder()
+            .withSize(5, 6)
+            .withTracer(mockTracer)
+            .build();
+
+        Mockito.verify(mockTracer, times(4))
+            .phaseCompleted(any(), any());
+        Mockito.verify(mockTracer, times(0))
+            .phaseCompleted(eq(MazeBuildPhase.DISTANCES), any());
+    }
 }
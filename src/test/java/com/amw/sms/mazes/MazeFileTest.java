@@ -0,0 +1,161 @@
+package com.amw.sms.mazes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import com.amw.sms.algorithms.Dijkstra;
+import com.amw.sms.algorithms.generation.BinaryTree;
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.algorithms.generation.Sidewinder;
+import com.amw.sms.grid.BitfieldGrid;
+import com.amw.sms.grid.Grid;
+import com.amw.sms.grid.MazeGrid;
+import com.amw.sms.mazes.goals.MazeGoal;
+import com.amw.sms.mazes.goals.MazeGoalType;
+import com.amw.sms.util.Pair;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for MazeFile.
+ */
+public class MazeFileTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a generated maze with a seed, algorithm and non-default goals.
+     */
+    private Maze newMaze(){
+        final var grid = new Grid(7, 9);
+        new Sidewinder().apply(grid, new SplittableRandom(42L));
+        final var entrance = new MazeGoal(grid.getCell(2, 3).get(), MazeGoalType.ENTRANCE);
+        final var exit = new MazeGoal(grid.getCell(6, 1).get(), MazeGoalType.EXIT);
+        return new Maze(grid, new Pair<MazeGoal, MazeGoal>(entrance, exit),
+            Optional.of(MazeGenAlgorithmType.SIDEWINDER), Optional.of(42L));
+    }
+
+    @Test
+    void testWriteTo_andOpen_returnsSameMaze() throws IOException {
+        final var maze = newMaze();
+        final var path = tempDir.resolve("maze.bin");
+
+        MazeFile.of(maze).writeTo(path);
+        final var mazeFile = MazeFile.open(path);
+
+        assertEquals(maze.getGrid().toString(), mazeFile.getGrid().toString());
+        assertEquals(2 * 9 + 3, mazeFile.getEntranceIndex());
+        assertEquals(6 * 9 + 1, mazeFile.getExitIndex());
+        assertEquals(Optional.of(MazeGenAlgorithmType.SIDEWINDER), mazeFile.getAlgorithmType());
+        assertEquals(Optional.of(42L), mazeFile.getSeed());
+    }
+
+    @Test
+    void testWriteTo_storesTwoBitsPerCell() throws IOException {
+        final var output = new ByteArrayOutputStream();
+
+        MazeFile.of(newMaze()).writeTo(output);
+
+        //34 byte header, "SIDEWINDER", then 63 cells at 4 cells per byte
+        assertEquals(34 + 10 + 16, output.size());
+    }
+
+    @Test
+    void testToMaze_returnsMazeWithSameGridAndGoals() throws IOException {
+        final var maze = newMaze();
+        final var output = new ByteArrayOutputStream();
+        MazeFile.of(maze).writeTo(output);
+
+        final var loadedMaze = MazeFile.read(ByteBuffer.wrap(output.toByteArray())).toMaze();
+
+        assertEquals(maze.toString(), loadedMaze.toString());
+        assertEquals(2, loadedMaze.getStartCell().getRowPosition());
+        assertEquals(3, loadedMaze.getStartCell().getColumnPosition());
+        assertEquals(6, loadedMaze.getEndCell().getRowPosition());
+        assertEquals(1, loadedMaze.getEndCell().getColumnPosition());
+        assertEquals(maze.getSeed(), loadedMaze.getSeed());
+        assertEquals(maze.getAlgorithmType(), loadedMaze.getAlgorithmType());
+    }
+
+    @Test
+    void testWriteTo_whenBitfieldGridWithoutSeedOrAlgorithm_roundTrips() throws IOException {
+        final var grid = new BitfieldGrid(37, 53);
+        new BinaryTree().apply(grid, new SplittableRandom(7L));
+        final var path = tempDir.resolve("maze.bin");
+
+        new MazeFile(grid, 0, grid.getCellCount() - 1, Optional.empty(), Optional.empty()).writeTo(path);
+        final var mazeFile = MazeFile.open(path);
+
+        assertEquals(grid.toString(), mazeFile.getGrid().toString());
+        assertEquals(Optional.empty(), mazeFile.getAlgorithmType());
+        assertEquals(Optional.empty(), mazeFile.getSeed());
+    }
+
+    @Test
+    void testOpen_gridIsReadOnly() throws IOException {
+        final var path = tempDir.resolve("maze.bin");
+        MazeFile.of(newMaze()).writeTo(path);
+
+        final var grid = MazeFile.open(path).getGrid();
+
+        assertThrows(UnsupportedOperationException.class, () -> grid.link(0, 1));
+    }
+
+    @Test
+    void testRead_whenNotMazeFile_throwsIOException(){
+        final var buffer = ByteBuffer.wrap("+---+---+\n|       |\n+---+---+---+---+---+---+".getBytes());
+
+        final var exception = assertThrows(IOException.class, () -> MazeFile.read(buffer));
+        assertTrue(exception.getMessage().contains("Not a maze file"));
+    }
+
+    @Test
+    void testRead_whenTruncated_throwsIOException() throws IOException {
+        final var output = new ByteArrayOutputStream();
+        MazeFile.of(newMaze()).writeTo(output);
+        final var bytes = output.toByteArray();
+
+        final var buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> MazeFile.read(buffer));
+    }
+
+    @Test
+    void testRead_whenLinksLeadOffGrid_ignoresThem() throws IOException {
+        final var output = new ByteArrayOutputStream();
+        new MazeFile(new BitfieldGrid(2, 3), 0, 5, Optional.empty(), Optional.empty()).writeTo(output);
+        final var bytes = output.toByteArray();
+        //Every cell links east and south, including those in the last column and row
+        bytes[34] = (byte) 0xFF;
+        bytes[35] = (byte) 0xFF;
+
+        final var grid = MazeFile.read(ByteBuffer.wrap(bytes)).getGrid();
+        final var links = new int[MazeGrid.MAX_NEIGHBORS];
+
+        assertEquals(2, grid.getLinks(2, links));
+        assertArrayEquals(new int[]{ 5, 1 }, Arrays.copyOf(links, 2));
+        assertEquals(2, grid.degree(5));
+        assertFalse(grid.isLinked(2, 3));
+        assertEquals(4, new Dijkstra().getSolution(grid, 0, 5).length);
+    }
+
+    @Test
+    void testOpen_whenFileIsEmpty_throwsIOException() throws IOException {
+        final var path = Files.createFile(tempDir.resolve("empty.bin"));
+
+        assertThrows(IOException.class, () -> MazeFile.open(path));
+    }
+}
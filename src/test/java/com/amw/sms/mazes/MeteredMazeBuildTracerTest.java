@@ -0,0 +1,31 @@
+package com.amw.sms.mazes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for MeteredMazeBuildTracer.
+ */
+public class MeteredMazeBuildTracerTest {
+    @Test
+    void testPhaseCompleted_recordsDurationInTimerOfPhase(){
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var tracer = new MeteredMazeBuildTracer(meterRegistry);
+
+        tracer.phaseCompleted(MazeBuildPhase.GENERATION, Duration.ofMillis(5));
+        tracer.phaseCompleted(MazeBuildPhase.GENERATION, Duration.ofMillis(7));
+        tracer.phaseCompleted(MazeBuildPhase.EXIT, Duration.ofMillis(1));
+
+        final var generation = meterRegistry.get(MeteredMazeBuildTracer.METRIC).tag("phase", "generation").timer();
+        final var grid = meterRegistry.get(MeteredMazeBuildTracer.METRIC).tag("phase", "grid").timer();
+        assertEquals(2, generation.count());
+        assertEquals(12.0, generation.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, grid.count());
+    }
+}
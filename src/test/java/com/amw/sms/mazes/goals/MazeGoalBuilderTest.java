@@ -135,4 +135,16 @@ public class MazeGoalBuilderTest {
         
         assertEquals(mockFurthestCell, mazeGoal.getCell());
     }
+
+    @Test
+    void testFarthestIn_returnsGoalSetAtFurthestCellWithoutSearchingGrid(){
+        Mockito.when(mockCellDistances.getFurthestCell())
+            .thenReturn(mockFurthestCell);
+
+        final var mazeGoal = new MazeGoalBuilder(mockAlgorithmFactory, mockGrid)
+            .farthestIn(mockCellDistances);
+
+        assertEquals(mockFurthestCell, mazeGoal.getCell());
+        Mockito.verifyNoInteractions(mockAlgorithmFactory);
+    }
 }
@@ -0,0 +1,86 @@
+package com.amw.sms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for BufferPool.
+ */
+public class BufferPoolTest {
+    @Test
+    void testAcquire_whenSmallGrid_returnsSameBuffersOnSameThread(){
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+
+        final var first = pool.acquire(10);
+        pool.release(first, 10);
+        final var second = pool.acquire(5);
+
+        assertSame(first, second);
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    void testAcquire_whenSmallGridOnOtherThread_returnsOtherBuffers() throws InterruptedException, ExecutionException{
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+        final var executor = Executors.newSingleThreadExecutor();
+        try{
+            final var other = executor.submit(() -> pool.acquire(10)).get();
+            assertNotSame(other, pool.acquire(10));
+            assertEquals(2, pool.getCreatedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAcquire_whenLargeGridBuffersReleased_reusesThem(){
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+
+        final var first = pool.acquire(11);
+        pool.release(first, 11);
+        final var second = pool.acquire(11);
+
+        assertSame(first, second);
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    void testAcquire_whenLargeGridBuffersCheckedOut_createsNewBuffers(){
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+
+        final var first = pool.acquire(11);
+        final var second = pool.acquire(11);
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    void testRelease_whenPoolFull_dropsBuffers(){
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+        final var first = pool.acquire(11);
+        final var second = pool.acquire(11);
+
+        pool.release(first, 11);
+        pool.release(second, 11);
+
+        assertSame(first, pool.acquire(11));
+        assertNotSame(second, pool.acquire(11));
+        assertEquals(3, pool.getCreatedCount());
+    }
+
+    @Test
+    void testAcquire_whenLargeGridBuffersReleased_doesNotReturnThemForSmallGrid(){
+        final var pool = new BufferPool<int[]>(10, 1, () -> new int[0]);
+        final var large = pool.acquire(11);
+        pool.release(large, 11);
+
+        assertNotSame(large, pool.acquire(10));
+    }
+}
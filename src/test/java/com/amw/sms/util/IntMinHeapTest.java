@@ -0,0 +1,78 @@
+package com.amw.sms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IntMinHeap.
+ */
+public class IntMinHeapTest {
+    @Test
+    void testPoll_returnsIdsInOrderOfPriority(){
+        final var rng = new SplittableRandom(1);
+        final var heap = new IntMinHeap(100);
+        final var priorities = new long[100];
+        for(var id = 0; id < 100; id++){
+            priorities[id] = rng.nextLong(1000);
+            heap.offer(id, priorities[id]);
+        }
+
+        var previous = Long.MIN_VALUE;
+        while(!heap.isEmpty()){
+            final var priority = heap.peekPriority();
+            final var id = heap.poll();
+            assertEquals(priorities[id], priority);
+            assertTrue(previous <= priority);
+            previous = priority;
+        }
+    }
+
+    @Test
+    void testOffer_whenIdInHeapWithHigherPriority_lowersPriority(){
+        final var heap = new IntMinHeap(3);
+        heap.offer(0, 10);
+        heap.offer(1, 20);
+        heap.offer(2, 30);
+
+        assertTrue(heap.offer(2, 5));
+        assertEquals(3, heap.size());
+        assertEquals(2, heap.poll());
+    }
+
+    @Test
+    void testOffer_whenIdInHeapWithLowerPriority_keepsPriority(){
+        final var heap = new IntMinHeap(2);
+        heap.offer(0, 10);
+        heap.offer(1, 20);
+
+        assertFalse(heap.offer(0, 50));
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    void testClear_removesAllIds(){
+        final var heap = new IntMinHeap(10);
+        Arrays.asList(3, 7, 1).forEach((var id) -> heap.offer(id, id));
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(7));
+        assertTrue(heap.offer(7, 1));
+        assertEquals(7, heap.poll());
+    }
+
+    @Test
+    void testPoll_whenEmpty_throwsException(){
+        final var heap = new IntMinHeap(1);
+        assertThrows(NoSuchElementException.class, heap::poll);
+    }
+}
@@ -0,0 +1,183 @@
+package com.amw.sms.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.amw.sms.algorithms.generation.MazeGenAlgorithmType;
+import com.amw.sms.mazes.MazeFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests for the REST endpoints of the maze web service.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("web")
+public class MazeControllerTest {
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testGenerate_whenSameSeed_returnsSameMaze() throws Exception {
+        final var request = get("/mazes").param("rows", "8").param("columns", "12").param("seed", "42");
+
+        final var first = this.perform(request);
+        final var second = this.perform(request);
+
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+        assertEquals("42", first.getResponse().getHeader(MazeController.SEED_HEADER));
+    }
+
+    @Test
+    void testGenerate_whenNoSeed_returnsSeedThatReproducesMaze() throws Exception {
+        final var first = this.perform(get("/mazes").param("rows", "6").param("columns", "6"));
+        final var seed = first.getResponse().getHeader(MazeController.SEED_HEADER);
+        final var second = this.perform(get("/mazes").param("rows", "6").param("columns", "6").param("seed", seed));
+
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+    }
+
+    @Test
+    void testGenerate_whenBinaryFormat_returnsMazeFile() throws Exception {
+        final var result = this.perform(get("/mazes").param("rows", "5").param("columns", "7")
+            .param("seed", "3").param("algorithm", "BINARY_TREE").param("format", "BINARY"));
+
+        final var mazeFile = MazeFile.read(ByteBuffer.wrap(result.getResponse().getContentAsByteArray()));
+
+        assertEquals(5, mazeFile.getGrid().getRowCount());
+        assertEquals(7, mazeFile.getGrid().getColumnCount());
+        assertEquals(MazeGenAlgorithmType.BINARY_TREE, mazeFile.getAlgorithmType().get());
+        assertEquals(3L, mazeFile.getSeed().get());
+    }
+
+    @Test
+    void testGenerate_whenPngFormat_returnsPngImage() throws Exception {
+        final var result = this.perform(get("/mazes").param("rows", "4").param("columns", "4").param("format", "PNG"));
+
+        final var content = result.getResponse().getContentAsByteArray();
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(content, PNG_SIGNATURE.length));
+    }
+
+    @Test
+    void testGenerate_whenTooManyCells_returnsBadRequest() throws Exception {
+        final var result = this.mockMvc.perform(get("/mazes").param("rows", "10000").param("columns", "10000"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGenerate_whenInvalidSize_returnsBadRequest() throws Exception {
+        final var result = this.mockMvc.perform(get("/mazes").param("rows", "0").param("columns", "5"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGenerate_whenJsonFormat_returnsBadRequest() throws Exception {
+        final var result = this.mockMvc.perform(get("/mazes").param("rows", "4").param("columns", "4")
+                .param("format", "JSON"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGenerate_whenPngCellSizeInvalid_returnsBadRequest() throws Exception {
+        for(final var cellSize : new String[]{"0", "-5", "51", "100000"}){
+            final var result = this.mockMvc.perform(get("/mazes").param("rows", "4").param("columns", "4")
+                    .param("format", "PNG").param("cellSize", cellSize))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void testSolve_whenPngTooManyPixels_returnsBadRequest() throws Exception {
+        final var result = this.mockMvc.perform(get("/mazes/solution").param("rows", "1000").param("columns", "1000")
+                .param("format", "PNG").param("cellSize", "50"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSolve_returnsPathFromEntranceToExit() throws Exception {
+        final var result = this.perform(get("/mazes/solution").param("rows", "9").param("columns", "9")
+            .param("seed", "11").param("goals", "LONGEST_PATH"));
+
+        final var solution = this.objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        final var path = solution.get("path");
+
+        assertEquals(11L, solution.get("seed").asLong());
+        assertEquals(solution.get("entrance").asInt(), path.get(0).asInt());
+        assertEquals(solution.get("exit").asInt(), path.get(path.size() - 1).asInt());
+    }
+
+    @Test
+    void testMetrics_publishQueueDepthAndRejections(){
+        assertNotNull(this.meterRegistry.find("executor.queued").tag("name", "mazeExecutor").gauge());
+        assertNotNull(this.meterRegistry.find(MazeWebConfiguration.REJECTED_METRIC).tag("name", "mazeExecutor").counter());
+    }
+
+    /**
+     * Performs the request, waits for its response to be streamed and checks it succeeded.
+     * @param requestBuilder Request to perform.
+     * @return The completed result.
+     */
+    private MvcResult perform(RequestBuilder requestBuilder) throws Exception {
+        final var started = this.mockMvc.perform(requestBuilder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        started.getAsyncResult();
+
+        final var streamed = this.mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(MazeController.SEED_HEADER))
+            .andReturn();
+
+        //The body itself is streamed asynchronously
+        streamed.getAsyncResult();
+        return streamed;
+    }
+}
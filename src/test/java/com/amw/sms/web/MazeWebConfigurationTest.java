@@ -0,0 +1,89 @@
+package com.amw.sms.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the executors of the maze web service.
+ */
+public class MazeWebConfigurationTest {
+    private MazeWebConfiguration configuration;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach(){
+        this.configuration = new MazeWebConfiguration();
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testMazeExecutor_whenNoThreadCount_usesAvailableProcessors(){
+        final var executor = this.configuration.mazeExecutor(0, 10, this.meterRegistry);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), executor.getMaxPoolSize());
+    }
+
+    @Test
+    void testMazeExecutor_whenSaturated_rejectsAndCountsTask() throws InterruptedException {
+        final var executor = this.configuration.mazeExecutor(1, 1, this.meterRegistry);
+        executor.initialize();
+
+        final var release = new CountDownLatch(1);
+        try{
+            executor.execute(() -> this.await(release));    //Busy thread
+            executor.execute(() -> {});                      //Queued
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+            assertEquals(1.0, this.meterRegistry.get(MazeWebConfiguration.REJECTED_METRIC)
+                .tag("name", "mazeExecutor").counter().count());
+        }
+        finally{
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testMazeStreamExecutor_whenPlatformThreads_returnsBoundedPool(){
+        final var executor = this.configuration.mazeStreamExecutor(MazeThreadMode.PLATFORM, 5, 10, this.meterRegistry);
+
+        final var pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        assertEquals(5, pool.getMaxPoolSize());
+    }
+
+    @Test
+    void testMazeStreamExecutor_whenVirtualThreads_runsTasks() throws InterruptedException {
+        final var executor = this.configuration.mazeStreamExecutor(MazeThreadMode.VIRTUAL, 5, 10, this.meterRegistry);
+        if(executor instanceof ThreadPoolTaskExecutor pool){
+            //Runtime without virtual threads falls back to platform threads
+            assertTrue(!VirtualThreads.isSupported());
+            pool.initialize();
+        }
+
+        final var done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    private void await(CountDownLatch latch){
+        try{
+            latch.await();
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}